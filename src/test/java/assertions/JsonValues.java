@@ -0,0 +1,50 @@
+package assertions;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * GPath-like lookups on a Jackson tree: {@code "title"}, {@code "address.city"}, {@code "[1].id"}.
+ */
+final class JsonValues {
+
+	private JsonValues() {
+	}
+
+	static JsonPointer pointer(String path) {
+		StringBuilder sb = new StringBuilder(path.length() + 1);
+		for (String segment : path.replace("[", ".").replace("]", "").split("\\.")) {
+			if (!segment.isEmpty()) {
+				sb.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+			}
+		}
+		return JsonPointer.compile(sb.toString());
+	}
+
+	/**
+	 * The value at {@code path} as Integer, Long, Double, String, Boolean or null, the way GPath hands values to
+	 * matchers. Objects and arrays come back as the {@link JsonNode} itself.
+	 */
+	static Object valueAt(JsonNode root, JsonPointer pointer) {
+		JsonNode node = root.at(pointer);
+		if (node.isMissingNode() || node.isNull()) {
+			return null;
+		}
+		if (node.isInt()) {
+			return node.intValue();
+		}
+		if (node.isIntegralNumber()) {
+			return node.longValue();
+		}
+		if (node.isNumber()) {
+			return node.doubleValue();
+		}
+		if (node.isTextual()) {
+			return node.textValue();
+		}
+		if (node.isBoolean()) {
+			return node.booleanValue();
+		}
+		return node;
+	}
+}
\ No newline at end of file
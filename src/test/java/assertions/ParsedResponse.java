@@ -0,0 +1,82 @@
+package assertions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.hamcrest.Matcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.response.Response;
+import utils.ObjectMappers;
+
+/**
+ * A response body parsed once into a Jackson tree that then serves every path lookup, matcher and POJO binding,
+ * instead of RestAssured parsing it again for each {@code body(...)}, {@code path(...)} and {@code as(...)}:
+ *
+ * <pre>
+ * ParsedResponse post = ParsedResponse.of(response)
+ *         .body("userId", equalTo(1))
+ *         .body("id", equalTo(1));
+ * Post bound = post.as(Post.class);
+ * </pre>
+ *
+ * Paths use the same syntax as GPath for plain fields and indexes ({@code "title"}, {@code "[1].id"}). Not
+ * thread-safe; use it from the test thread that made the request.
+ */
+public class ParsedResponse {
+
+	private static final ObjectMapper MAPPER = ObjectMappers.getMapper();
+
+	private final Response response;
+	private final JsonNode root;
+	private final Map<Class<?>, Object> bound = new IdentityHashMap<>();
+
+	private ParsedResponse(Response response, JsonNode root) {
+		this.response = response;
+		this.root = root;
+	}
+
+	public static ParsedResponse of(Response response) {
+		try {
+			return new ParsedResponse(response, MAPPER.readTree(response.asByteArray()));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Response body is not valid JSON", e);
+		}
+	}
+
+	public Response getResponse() {
+		return response;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T path(String path) {
+		return (T) JsonValues.valueAt(root, JsonValues.pointer(path));
+	}
+
+	public ParsedResponse body(String path, Matcher<?> matcher) {
+		assertThat("JSON path " + path, path(path), matcher);
+		return this;
+	}
+
+	/**
+	 * Binds the body to {@code type} on first use; later calls return the same instance, so treat it as read-only.
+	 */
+	public <T> T as(Class<T> type) {
+		Object value = bound.get(type);
+		if (value == null) {
+			try {
+				value = ObjectMappers.reader(type).readValue(root);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Cannot bind response to " + type.getSimpleName(), e);
+			}
+			bound.put(type, value);
+		}
+		return type.cast(value);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+package assertions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+
+import io.restassured.response.Response;
+import utils.ObjectMappers;
+import utils.SchemaRegistry;
+
+/**
+ * One-pass assertions over a top-level JSON array, read element by element with Jackson's token parser, so
+ * memory depends on the largest element rather than the whole payload. Pair it with
+ * {@link specs.StreamingBodyFilter} so the response body is not buffered before it gets here:
+ *
+ * <pre>
+ * StreamingJsonAssert.assertThatArray(response)
+ *         .hasStatusCode(200)
+ *         .everyItem("userId", equalTo(1))
+ *         .hasItems("id", 1, 9)
+ *         .hasSize(equalTo(100))
+ *         .verify();
+ * </pre>
+ *
+ * Field paths are dotted ({@code "address.city"}) and values reach matchers as GPath would hand them over.
+ * {@link #verify()} reads and closes the stream and reports every failed check at once. Given the
+ * {@link Response} itself, it checks the status first and closes the body whatever the outcome, so a failed
+ * status check still hands the pooled connection back.
+ */
+public class StreamingJsonAssert {
+
+	private static final ObjectMapper MAPPER = ObjectMappers.getMapper();
+	private static final int MAX_REPORTED_ITEMS = 10;
+
+	private final InputStream body;
+	private final Response response;
+	private final List<ItemCheck> checks = new ArrayList<>();
+	private Matcher<? super Integer> sizeMatcher;
+	private Integer expectedStatus;
+
+	private StreamingJsonAssert(InputStream body, Response response) {
+		this.body = body;
+		this.response = response;
+	}
+
+	public static StreamingJsonAssert assertThatArray(InputStream body) {
+		return new StreamingJsonAssert(body, null);
+	}
+
+	public static StreamingJsonAssert assertThatArray(Response response) {
+		return new StreamingJsonAssert(response.asInputStream(), response);
+	}
+
+	public StreamingJsonAssert hasStatusCode(int expected) {
+		if (response == null) {
+			throw new IllegalStateException("hasStatusCode needs assertThatArray(Response)");
+		}
+		this.expectedStatus = expected;
+		return this;
+	}
+
+	public StreamingJsonAssert hasSize(Matcher<? super Integer> matcher) {
+		this.sizeMatcher = matcher;
+		return this;
+	}
+
+	public StreamingJsonAssert everyItem(String path, Matcher<?> matcher) {
+		checks.add(new EveryItem(path, matcher));
+		return this;
+	}
+
+	public StreamingJsonAssert hasItems(String path, Object... expected) {
+		checks.add(new HasItems(path, expected));
+		return this;
+	}
+
+	public StreamingJsonAssert itemAt(int index, String path, Matcher<?> matcher) {
+		checks.add(new ItemAt(index, path, matcher));
+		return this;
+	}
+
+	/**
+	 * Validates every element against a classpath schema from {@link SchemaRegistry}.
+	 */
+	public StreamingJsonAssert everyItemMatchesSchema(String schemaPath) {
+		checks.add(new EveryItemMatchesSchema(schemaPath));
+		return this;
+	}
+
+	public void verify() {
+		int count = 0;
+		try (InputStream in = body; JsonParser parser = MAPPER.getFactory().createParser(in)) {
+			if (expectedStatus != null && response.statusCode() != expectedStatus) {
+				throw new AssertionError("Expected status code " + expectedStatus + " but was " + response.statusLine());
+			}
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new AssertionError("Expected a JSON array but found " + parser.currentToken());
+			}
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				JsonNode item = MAPPER.readTree(parser);
+				for (ItemCheck check : checks) {
+					check.accept(count, item);
+				}
+				count++;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read streamed JSON array", e);
+		}
+
+		List<String> failures = new ArrayList<>();
+		if (sizeMatcher != null && !sizeMatcher.matches(count)) {
+			failures.add("size: expected " + StringDescription.toString(sizeMatcher) + " but was " + count);
+		}
+		for (ItemCheck check : checks) {
+			check.finish(count, failures);
+		}
+		if (!failures.isEmpty()) {
+			throw new AssertionError(
+					"Streamed JSON array (" + count + " items) failed:\n  " + String.join("\n  ", failures));
+		}
+	}
+
+	private abstract static class ItemCheck {
+
+		abstract void accept(int index, JsonNode item);
+
+		abstract void finish(int count, List<String> failures);
+	}
+
+	private abstract static class PerItemCheck extends ItemCheck {
+
+		private final List<String> mismatches = new ArrayList<>();
+		private int failed;
+
+		void fail(int index, String detail) {
+			if (failed++ < MAX_REPORTED_ITEMS) {
+				mismatches.add("[" + index + "] " + detail);
+			}
+		}
+
+		abstract String describe();
+
+		@Override
+		void finish(int count, List<String> failures) {
+			if (failed > 0) {
+				failures.add(describe() + ": " + failed + " of " + count + " items failed, e.g. " + mismatches);
+			}
+		}
+	}
+
+	private static class EveryItem extends PerItemCheck {
+
+		private final String path;
+		private final JsonPointer pointer;
+		private final Matcher<?> matcher;
+
+		EveryItem(String path, Matcher<?> matcher) {
+			this.path = path;
+			this.pointer = JsonValues.pointer(path);
+			this.matcher = matcher;
+		}
+
+		@Override
+		void accept(int index, JsonNode item) {
+			Object value = JsonValues.valueAt(item, pointer);
+			if (!matcher.matches(value)) {
+				fail(index, path + " was " + value);
+			}
+		}
+
+		@Override
+		String describe() {
+			return "every " + path + " " + StringDescription.toString(matcher);
+		}
+	}
+
+	private static class ItemAt extends ItemCheck {
+
+		private final int index;
+		private final String path;
+		private final JsonPointer pointer;
+		private final Matcher<?> matcher;
+		private Object actual;
+		private boolean seen;
+
+		ItemAt(int index, String path, Matcher<?> matcher) {
+			this.index = index;
+			this.path = path;
+			this.pointer = JsonValues.pointer(path);
+			this.matcher = matcher;
+		}
+
+		@Override
+		void accept(int current, JsonNode item) {
+			if (current == index) {
+				actual = JsonValues.valueAt(item, pointer);
+				seen = true;
+			}
+		}
+
+		@Override
+		void finish(int count, List<String> failures) {
+			String expected = "[" + index + "]." + path + " " + StringDescription.toString(matcher);
+			if (!seen) {
+				failures.add(expected + ": array has only " + count + " items");
+			} else if (!matcher.matches(actual)) {
+				failures.add(expected + " but was " + actual);
+			}
+		}
+	}
+
+	private static class HasItems extends ItemCheck {
+
+		private final String path;
+		private final JsonPointer pointer;
+		private final Set<Object> missing;
+
+		HasItems(String path, Object... expected) {
+			this.path = path;
+			this.pointer = JsonValues.pointer(path);
+			this.missing = new LinkedHashSet<>(Arrays.asList(expected));
+		}
+
+		@Override
+		void accept(int index, JsonNode item) {
+			if (!missing.isEmpty()) {
+				Object value = JsonValues.valueAt(item, pointer);
+				missing.removeIf(expected -> Objects.equals(expected, value));
+			}
+		}
+
+		@Override
+		void finish(int count, List<String> failures) {
+			if (!missing.isEmpty()) {
+				failures.add(path + " has items: missing " + missing);
+			}
+		}
+	}
+
+	private static class EveryItemMatchesSchema extends PerItemCheck {
+
+		private final String schemaPath;
+		private final JsonSchema schema;
+
+		EveryItemMatchesSchema(String schemaPath) {
+			this.schemaPath = schemaPath;
+			this.schema = SchemaRegistry.getSchema(schemaPath);
+		}
+
+		@Override
+		void accept(int index, JsonNode item) {
+			try {
+				ProcessingReport report = schema.validate(item);
+				if (!report.isSuccess()) {
+					fail(index, report.toString().replace('\n', ' '));
+				}
+			} catch (ProcessingException e) {
+				throw new IllegalStateException("Schema " + schemaPath + " failed to validate: " + e.getMessage(), e);
+			}
+		}
+
+		@Override
+		String describe() {
+			return "every item matches " + schemaPath;
+		}
+	}
+}
\ No newline at end of file
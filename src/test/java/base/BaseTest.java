@@ -8,60 +8,117 @@ import org.apache.logging.log4j.Logger;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
+import config.ConfigManager;
+import metrics.LatencyRegistry;
+import metrics.NetworkTimingFilter;
+import metrics.PhaseStats;
+import server.PostsStandInServer;
+import specs.AsyncRequests;
+import specs.BufferedLoggingFilter;
+import specs.CachingObjectMapper;
+import specs.HttpClientPool;
+import specs.PayloadCache;
 import specs.RequestSpecFactory;
+import specs.ResponseCache;
 import utils.ExtentManager;
 import utils.LoggerUtils;
-
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import utils.ObjectMappers;
+import utils.ReportNode;
+import utils.StreamingReporter;
 
 import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public abstract class BaseTest {
 
+	// Row failures kept for the assertion message; the rest are only counted
+	private static final int MAX_REPORTED_ROW_FAILURES = 10;
+
 	private static final ThreadLocal<RequestSpecification> requestSpec = new ThreadLocal<>();
 	private static final ThreadLocal<Logger> logger = new ThreadLocal<>();
-	private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+	private static final ThreadLocal<ReportNode> extentTest = new ThreadLocal<>();
+	// Set by setup and setupForLoad alike, since only the first runs under TestNG
+	private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
 
-	private static ExtentReports extent;
+	private static StreamingReporter reporter;
 
 	@BeforeSuite(alwaysRun = true)
 	public synchronized void setupReport() {
-		if (extent == null) {
-			extent = ExtentManager.getInstance();
+		if (reporter == null) {
+			reporter = StreamingReporter.getInstance();
 		}
+		startStandInIfEnabled();
+
+		configureRestAssured();
+	}
+
+	// standin.enabled=true points base.url at the embedded /posts server instead of the live API
+	public static void startStandInIfEnabled() {
+		if (Boolean.parseBoolean(ConfigManager.getOrDefault("standin.enabled", "false"))) {
+			System.setProperty("base.url", PostsStandInServer.start().getBaseUrl());
+		}
+	}
 
-		RestAssured.config = RestAssured.config().objectMapperConfig(
-				ObjectMapperConfig.objectMapperConfig().jackson2ObjectMapperFactory((cls, charset) -> {
-					ObjectMapper mapper = new ObjectMapper();
-					mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-					return mapper;
-				}));
+	public static void configureRestAssured() {
+		RestAssured.config = RestAssured.config().objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+				.defaultObjectMapper(new CachingObjectMapper())
+				.jackson2ObjectMapperFactory((cls, charset) -> ObjectMappers.getMapper()));
 	}
 
 	@AfterSuite(alwaysRun = true)
 	public void tearDownReport() {
-		if (extent != null) {
-			extent.flush();
+		LatencyRegistry.writeHistogramLog(Paths.get(ConfigManager.getOrDefault("metrics.histogram.file",
+				"reports/latency.hlog")));
+		if (Boolean.parseBoolean(ConfigManager.getOrDefault("perf.baseline.update", "false"))) {
+			LatencyRegistry.writeHistogramLog(Paths.get(ConfigManager.getOrDefault("perf.baseline.file",
+					"baselines/latency-baseline.hlog")));
+		}
+
+		String poolStats = HttpClientPool.getInstance().describe();
+		LoggerUtils.getLogger(BaseTest.class).info("HTTP connection pool: {}", poolStats);
+		HttpClientPool.shutdown();
+		PostsStandInServer.stop();
+		String payloadStats = PayloadCache.describe();
+		LoggerUtils.getLogger(BaseTest.class).info("Payload cache: {}", payloadStats);
+		String responseCacheStats = ResponseCache.describe();
+		LoggerUtils.getLogger(BaseTest.class).info("Response cache: {}", responseCacheStats);
+		String asyncStats = AsyncRequests.describe();
+		LoggerUtils.getLogger(BaseTest.class).info("Async requests: {}", asyncStats);
+		AsyncRequests.shutdown();
+		LoggerUtils.getLogger(BaseTest.class).info("Network phases:\n{}", PhaseStats.summarize());
+
+		if (reporter != null) {
+			ExtentManager.getInstance().setSystemInfo("HTTP Connection Pool", poolStats);
+			ExtentManager.getInstance().setSystemInfo("Payload Cache", payloadStats);
+			ExtentManager.getInstance().setSystemInfo("Response Cache", responseCacheStats);
+			ExtentManager.getInstance().setSystemInfo("Async Requests", asyncStats);
+			ExtentManager.getInstance().setSystemInfo("Network Phases (p50)", PhaseStats.describe());
+			reporter.close();
+			reporter = null;
 		}
 	}
 
 	@BeforeMethod(alwaysRun = true)
 	public void setup(Method method) {
-		requestSpec.set(RequestSpecFactory.getRequestSpec());
-
 		Logger log = LoggerUtils.getLogger(method.getDeclaringClass());
 		logger.set(log);
+		currentTest.set(method.getName());
 
 		LoggerUtils.setTestContext(method.getName());
+		BufferedLoggingFilter.startTest();
+		NetworkTimingFilter.startTest();
 
-		ExtentTest test;
-		synchronized (ExtentManager.class) {
-			test = extent.createTest(method.getDeclaringClass().getSimpleName() + " → " + method.getName());
-		}
-		extentTest.set(test);
+		extentTest.set(reporter.startTest(method.getDeclaringClass().getSimpleName() + " → " + method.getName()));
 
 		logger.get().info("STARTING TEST: {}", method.getName());
 		extentTest.get().info("STARTING TEST: " + method.getName());
@@ -92,18 +149,118 @@ public abstract class BaseTest {
 			break;
 		}
 
+		BufferedLoggingFilter.finishTest(result.getStatus() == ITestResult.FAILURE, logger.get(), extentTest.get());
+		NetworkTimingFilter.finishTest(extentTest.get());
+		reporter.endTest(extentTest.get());
 		LoggerUtils.clearContext();
 
 		requestSpec.remove();
 		logger.remove();
 		extentTest.remove();
+		currentTest.remove();
+	}
+
+	// Used by load.LoadRunner to call a @Test method outside TestNG, without report or HTTP log output
+	public void setupForLoad(Method method) {
+		logger.set(LoggerUtils.getLogger(method.getDeclaringClass()));
+		extentTest.set(ReportNode.NOOP);
+		currentTest.set(method.getName());
+	}
+
+	public void tearDownForLoad() {
+		requestSpec.remove();
+		logger.remove();
+		extentTest.remove();
+		currentTest.remove();
 	}
 
 	protected RequestSpecification getRequestSpec() {
-		return requestSpec.get();
+		RequestSpecification spec = requestSpec.get();
+		if (spec == null) {
+			spec = RequestSpecFactory.getRequestSpec();
+			requestSpec.set(spec);
+		}
+		return spec;
+	}
+
+	/**
+	 * Runs {@code check} on every element of {@code rows} on {@code data.threads} threads, then fails if any row
+	 * failed. Rows are pulled only as threads free up, so a data file of any size streams through in constant
+	 * memory and as one TestNG result. Each row runs with this test's logger, report node and log context, a
+	 * failing row's HTTP exchanges are logged as a failing test's are, and its network timings go to the report
+	 * node. Works the same when load.LoadRunner calls the test.
+	 */
+	protected <T> void forEachRow(Iterator<T> rows, Consumer<? super T> check) {
+		int threads = Math.max(1, ConfigManager.getIntOrDefault("data.threads", 4));
+		String name = currentTest.get();
+		Logger log = logger.get();
+		ReportNode node = extentTest.get();
+		AtomicLong failed = new AtomicLong();
+		List<Throwable> reported = Collections.synchronizedList(new ArrayList<>());
+		Semaphore slots = new Semaphore(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, name + "-rows");
+			t.setDaemon(true);
+			return t;
+		});
+		long count = 0;
+		try {
+			while (rows.hasNext()) {
+				slots.acquire();
+				T row = rows.next();
+				count++;
+				executor.execute(() -> {
+					logger.set(log);
+					extentTest.set(node);
+					currentTest.set(name);
+					LoggerUtils.setTestContext(name);
+					BufferedLoggingFilter.startTest();
+					NetworkTimingFilter.startTest();
+					boolean rowFailed = false;
+					try {
+						check.accept(row);
+					} catch (Throwable t) {
+						rowFailed = true;
+						if (failed.incrementAndGet() <= MAX_REPORTED_ROW_FAILURES) {
+							reported.add(new AssertionError(row + ": " + t.getMessage(), t));
+						}
+					} finally {
+						BufferedLoggingFilter.finishTest(rowFailed, log, node);
+						NetworkTimingFilter.finishTest(node);
+						LoggerUtils.clearContext();
+						requestSpec.remove();
+						logger.remove();
+						extentTest.remove();
+						currentTest.remove();
+						slots.release();
+					}
+				});
+			}
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted after " + count + " rows", e);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		log.info("{} rows checked on {} threads, {} failed", count, threads, failed.get());
+		if (failed.get() > 0) {
+			Throwable first = reported.get(0);
+			AssertionError error = new AssertionError(failed.get() + " of " + count + " rows failed, first: "
+					+ first.getMessage(), first);
+			reported.subList(1, reported.size()).forEach(error::addSuppressed);
+			throw error;
+		}
+	}
+
+	// Non-blocking requests for fan-out tests; see AsyncRequests
+	protected AsyncRequests getAsync() {
+		return AsyncRequests.getInstance();
 	}
 
-	protected ExtentTest getExtentTest() {
+	protected ReportNode getExtentTest() {
 		return extentTest.get();
 	}
 
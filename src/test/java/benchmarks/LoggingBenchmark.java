@@ -0,0 +1,105 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.LoggerUtils;
+
+/**
+ * Wall-clock time of a simulated suite's logging (the same calls BaseTest and the *ApiTests classes make) with
+ * the synchronous log4j2.xml versus log4j2-async.xml. Console output goes to a null stream so the JMH log stays
+ * readable; the console appender still pays for formatting and locking.
+ * <p>
+ * Each invocation ends by stopping the logger context, which drains the async ring buffer and flushes the files,
+ * so the async variant is charged for all of its I/O and not just for publishing. The context is restarted
+ * outside the measured region.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.asyncLoggerWaitStrategy=Yield")
+public class LoggingBenchmark {
+
+	private static final int TESTS_PER_SUITE = 2_000;
+
+	@Param({ "log4j2.xml", "log4j2-async.xml" })
+	public String config;
+
+	@Param({ "4", "16", "64" })
+	public int threads;
+
+	private ExecutorService executor;
+	private LoggerContext context;
+	private Logger logger;
+
+	@Setup(Level.Trial)
+	public void setup() throws URISyntaxException {
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		Configurator.reconfigure(getClass().getClassLoader().getResource(config).toURI());
+		context = LoggerContext.getContext(false);
+		logger = LogManager.getLogger(LoggingBenchmark.class);
+		executor = Executors.newFixedThreadPool(threads);
+	}
+
+	@Setup(Level.Invocation)
+	public void startContext() {
+		if (context.isStopped()) {
+			context.start();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+		LogManager.shutdown();
+	}
+
+	@Benchmark
+	public void suite() throws Exception {
+		List<Future<?>> futures = new ArrayList<>(TESTS_PER_SUITE);
+		for (int i = 0; i < TESTS_PER_SUITE; i++) {
+			String testName = "TC_" + i;
+			futures.add(executor.submit(() -> simulateTest(testName)));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		context.stop();
+	}
+
+	private void simulateTest(String testName) {
+		LoggerUtils.setTestContext(testName);
+		logger.info("STARTING TEST: {}", testName);
+		logger.info("{}: GET /posts/1 → expect 200", testName);
+		logger.info("Response: {}", "Post{id=1, userId=1, title='sunt aut facere', body='quia et suscipit'}");
+		logger.info("ENDING TEST: {} - PASSED", testName);
+		LoggerUtils.clearContext();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package benchmarks;
+
+import static io.restassured.RestAssured.given;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import io.restassured.specification.RequestSpecification;
+import models.Post;
+import server.PostsStandInServer;
+import specs.HttpClientPool;
+import specs.RequestSpecFactory;
+import tests.GetApiTests;
+import utils.LoggerUtils;
+import utils.ObjectMappers;
+import utils.ReportNode;
+import utils.StreamingReporter;
+
+/**
+ * What the framework adds around one HTTP call, stage by stage, against the in-process stand-in on loopback:
+ * <ul>
+ * <li>{@code specCopy}: {@code RequestSpecFactory.getRequestSpec()}</li>
+ * <li>{@code threadContext}: setting and clearing the Log4j {@code ThreadContext} test name</li>
+ * <li>{@code reportNode}: starting, logging to and ending a report test, up to the report queue; the writer
+ * discards the events, so no benchmark waits on the disk</li>
+ * <li>{@code serializePost}: Jackson encoding of a {@link Post}, bypassing the payload cache</li>
+ * <li>{@code setupAndTearDown}: {@code BaseTest.setup} plus {@code tearDown} for a passing test</li>
+ * <li>{@code loopbackCall}: the same GET /posts/1 through the bare JDK client, the floor for the two below</li>
+ * <li>{@code frameworkCall}: GET /posts/1 through the framework spec and its filters</li>
+ * <li>{@code endToEndTest}: {@code GetApiTests.TC_001} with its setup and tear-down, as TestNG would run it</li>
+ * </ul>
+ * {@code endToEndTest - loopbackCall} is the per-test framework cost. Run with the {@code benchmark} profile
+ * defaults ({@code -prof gc}, JSON results in {@code target/jmh-results.json}) to track it over time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dstandin.enabled=true", "-Dstandin.latency.ms=0" })
+public class RequestPathBenchmark {
+
+	private final Post post = new Post(1, "sunt aut facere repellat provident occaecati excepturi optio",
+			"quia et suscipit\nsuscipit recusandae consequuntur expedita et cum");
+
+	private GetApiTests test;
+	private Method testMethod;
+	private ITestResult passed;
+	private HttpClient jdkClient;
+	private HttpRequest loopbackRequest;
+	private Path eventsDir;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		// Keep the console appender's formatting cost but not its output
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		Configurator.reconfigure();
+		eventsDir = Files.createTempDirectory("jmh-report-events");
+		System.setProperty("report.events.dir", eventsDir.toString());
+		System.setProperty("report.events.discard", "true");
+
+		test = new GetApiTests();
+		test.setupReport();
+		testMethod = GetApiTests.class.getMethod("TC_001_shouldReturn200WhenValidPostIdIsRequested");
+		passed = passedResult(testMethod);
+
+		jdkClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		loopbackRequest = HttpRequest.newBuilder(URI.create(PostsStandInServer.start().getBaseUrl() + "/posts/1"))
+				.header("Accept", "application/json").build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		HttpClientPool.shutdown();
+		PostsStandInServer.stop();
+		// Left empty, as the writer discards every event
+		Files.deleteIfExists(eventsDir);
+	}
+
+	@Benchmark
+	public RequestSpecification specCopy() {
+		return RequestSpecFactory.getRequestSpec();
+	}
+
+	@Benchmark
+	public void threadContext() {
+		LoggerUtils.setTestContext("TC_001_shouldReturn200WhenValidPostIdIsRequested");
+		LoggerUtils.clearContext();
+	}
+
+	@Benchmark
+	public void reportNode() {
+		StreamingReporter reporter = StreamingReporter.getInstance();
+		ReportNode node = reporter.startTest("GetApiTests - TC_001_shouldReturn200WhenValidPostIdIsRequested");
+		node.info("STARTING TEST: TC_001_shouldReturn200WhenValidPostIdIsRequested");
+		node.pass("TEST PASSED");
+		reporter.endTest(node);
+	}
+
+	@Benchmark
+	public byte[] serializePost() throws IOException {
+		return ObjectMappers.writer(Post.class).writeValueAsBytes(post);
+	}
+
+	@Benchmark
+	public void setupAndTearDown() {
+		test.setup(testMethod);
+		test.tearDown(passed);
+	}
+
+	@Benchmark
+	public byte[] loopbackCall() throws IOException, InterruptedException {
+		return jdkClient.send(loopbackRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+	}
+
+	@Benchmark
+	public int frameworkCall() {
+		return given().spec(RequestSpecFactory.getRequestSpec()).get("/posts/1").then().statusCode(200).extract()
+				.statusCode();
+	}
+
+	@Benchmark
+	public void endToEndTest() {
+		test.setup(testMethod);
+		test.TC_001_shouldReturn200WhenValidPostIdIsRequested();
+		test.tearDown(passed);
+	}
+
+	// tearDown only asks a passing result for its status and method name; TestNG's own results need a full run
+	private static ITestResult passedResult(Method method) {
+		ITestNGMethod testNgMethod = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+				new Class<?>[] { ITestNGMethod.class },
+				(proxy, called, args) -> "getMethodName".equals(called.getName()) ? method.getName() : null);
+		return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(),
+				new Class<?>[] { ITestResult.class }, (proxy, called, args) -> {
+					switch (called.getName()) {
+					case "getMethod":
+						return testNgMethod;
+					case "getStatus":
+						return ITestResult.SUCCESS;
+					default:
+						return null;
+					}
+				});
+	}
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import config.ConfigManager;
+import io.restassured.specification.RequestSpecification;
+import specs.RequestSpecFactory;
+
+/**
+ * Per-test request spec setup: rebuilding the spec from scratch versus copying the cached base spec.
+ * Run with {@code -prof gc} to compare bytes allocated per test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestSpecBenchmark {
+
+	@Benchmark
+	public RequestSpecification rebuildPerTest() {
+		return RequestSpecFactory.buildRequestSpec(ConfigManager.get("base.url"));
+	}
+
+	@Benchmark
+	public RequestSpecification copyCachedBaseSpec() {
+		return RequestSpecFactory.getRequestSpec();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import assertions.ParsedResponse;
+import base.BaseTest;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import models.Post;
+
+/**
+ * The body checks of GetApiTests.TC_009 plus a POJO bind and a path extraction on one GET /posts/1 response:
+ * RestAssured's {@code then().body()}, {@code as()} and {@code path()} versus one {@link ParsedResponse}.
+ * {@code responseConstructionOnly} is the cost both of them pay for building the canned response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParseBenchmark {
+
+	private static final String BODY = "{\"userId\":1,\"id\":1,"
+			+ "\"title\":\"sunt aut facere repellat provident occaecati excepturi optio reprehenderit\","
+			+ "\"body\":\"quia et suscipit\\nsuscipit recusandae consequuntur expedita et cum\"}";
+
+	static {
+		BaseTest.configureRestAssured();
+	}
+
+	private static Response response() {
+		return new ResponseBuilder().setStatusCode(200).setContentType(ContentType.JSON).setBody(BODY).build();
+	}
+
+	@Benchmark
+	public Object responseConstructionOnly() {
+		return response();
+	}
+
+	@Benchmark
+	public Object restAssuredPerAssertion() {
+		Response response = response();
+		response.then()
+				.body("userId", equalTo(1))
+				.body("id", equalTo(1))
+				.body("title", notNullValue());
+		Post post = response.as(Post.class);
+		Integer id = response.path("id");
+		return post.getTitle().length() + id;
+	}
+
+	@Benchmark
+	public Object parseOnce() {
+		ParsedResponse response = ParsedResponse.of(response())
+				.body("userId", equalTo(1))
+				.body("id", equalTo(1))
+				.body("title", notNullValue());
+		Post post = response.as(Post.class);
+		Integer id = response.path("id");
+		return post.getTitle().length() + id;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.SchemaRegistry;
+
+/**
+ * Validations per second of a GET /posts/1 body: RestAssured's per-call classpath matcher versus the compiled
+ * matcher cached in {@link SchemaRegistry}. Runs on several threads, as a load run would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+	private static final String SCHEMA = "schemas/getPostSchema.json";
+	private static final String BODY = "{\"userId\":1,\"id\":1,"
+			+ "\"title\":\"sunt aut facere repellat provident occaecati excepturi optio reprehenderit\","
+			+ "\"body\":\"quia et suscipit\\nsuscipit recusandae consequuntur expedita et cum\"}";
+
+	@Benchmark
+	public boolean compilePerCall() {
+		return matchesJsonSchemaInClasspath(SCHEMA).matches(BODY);
+	}
+
+	@Benchmark
+	public boolean cachedValidator() {
+		return SchemaRegistry.matchesJsonSchemaInClasspath(SCHEMA).matches(BODY);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import models.ModelSerializers;
+import models.PatchPostRequest;
+import models.Post;
+import utils.ObjectMappers;
+
+/**
+ * Serialization throughput for the request models: a new ObjectMapper per call, as BaseTest used to hand
+ * RestAssured, versus the cached writers and readers from {@link ObjectMappers}, with and without Afterburner,
+ * and the mapper-free {@link ModelSerializers#toJsonBytes} path. Run with {@code -prof gc} for allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	@Param({ "none", "afterburner" })
+	public String module;
+
+	private final Post post = new Post(1, 1, "sunt aut facere repellat provident occaecati excepturi optio",
+			"quia et suscipit\nsuscipit recusandae consequuntur expedita et cum");
+	private final PatchPostRequest patch = new PatchPostRequest("Patched title", null);
+	private byte[] postJson;
+
+	private ObjectWriter postWriter;
+	private ObjectWriter patchWriter;
+	private ObjectReader postReader;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		// Each @Param value runs in its own fork, so this is read before ObjectMappers initialises
+		System.setProperty("json.mapper.module", module);
+		postWriter = ObjectMappers.writer(Post.class);
+		patchWriter = ObjectMappers.writer(PatchPostRequest.class);
+		postReader = ObjectMappers.reader(Post.class);
+		postJson = postWriter.writeValueAsBytes(post);
+	}
+
+	private static ObjectMapper perCallMapper() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		return mapper;
+	}
+
+	@Benchmark
+	public byte[] writePostPerCallMapper() throws IOException {
+		return perCallMapper().writeValueAsBytes(post);
+	}
+
+	@Benchmark
+	public byte[] writePostShared() throws IOException {
+		return postWriter.writeValueAsBytes(post);
+	}
+
+	@Benchmark
+	public byte[] writePostThreadLocalBuffer() {
+		return ModelSerializers.toJsonBytes(post);
+	}
+
+	@Benchmark
+	public byte[] writePatchPerCallMapper() throws IOException {
+		return perCallMapper().writeValueAsBytes(patch);
+	}
+
+	@Benchmark
+	public byte[] writePatchShared() throws IOException {
+		return patchWriter.writeValueAsBytes(patch);
+	}
+
+	@Benchmark
+	public byte[] writePatchThreadLocalBuffer() {
+		return ModelSerializers.toJsonBytes(patch);
+	}
+
+	@Benchmark
+	public Post readPostPerCallMapper() throws IOException {
+		return perCallMapper().readValue(postJson, Post.class);
+	}
+
+	@Benchmark
+	public Post readPostShared() throws IOException {
+		return postReader.readValue(postJson);
+	}
+}
\ No newline at end of file
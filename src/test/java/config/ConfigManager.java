@@ -4,6 +4,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.Set;
 
 public class ConfigManager {
 
@@ -22,7 +23,7 @@ public class ConfigManager {
 	}
 
 	public static String get(String key) {
-		String value = properties.getProperty(key);
+		String value = lookup(key);
 		if (value == null || value.isBlank()) {
 			throw new IllegalArgumentException("Missing or empty configuration key: '" + key + "' in " + CONFIG_PATH);
 		}
@@ -30,7 +31,40 @@ public class ConfigManager {
 	}
 
 	public static String getOrDefault(String key, String defaultValue) {
-		String value = properties.getProperty(key);
+		String value = lookup(key);
 		return (value != null && !value.isBlank()) ? value.trim() : defaultValue;
 	}
+
+	public static int getIntOrDefault(String key, int defaultValue) {
+		String value = getOrDefault(key, null);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Configuration key '" + key + "' is not an integer: " + value, e);
+		}
+	}
+
+	public static double getDoubleOrDefault(String key, double defaultValue) {
+		String value = getOrDefault(key, null);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Configuration key '" + key + "' is not a number: " + value, e);
+		}
+	}
+
+	public static Set<String> keys() {
+		return properties.stringPropertyNames();
+	}
+
+	// -Dkey=value on the command line wins over config.properties
+	private static String lookup(String key) {
+		return System.getProperty(key, properties.getProperty(key));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import config.ConfigManager;
+import utils.ObjectMappers;
+
+/**
+ * Lazy sources for TestNG {@code Iterator<Object[]>} data providers. Data files are read through
+ * {@link MappedLineReader}, one row per {@code next()}, so nothing beyond the current row is on the heap.
+ * <p>
+ * Rows are sharded by index modulo: with {@code shard.count=N} and {@code shard.index=i} a JVM only sees rows
+ * where {@code index % N == i}, and skips the rest without parsing them.
+ * <p>
+ * A provider fed by these iterators must not be declared {@code parallel = true}: TestNG then copies the whole
+ * iterator into a list before the first invocation. To check rows concurrently, pass the iterator to
+ * {@code BaseTest.forEachRow} from a single test instead.
+ */
+public class DataProviders {
+
+	private DataProviders() {
+	}
+
+	/**
+	 * Wraps each element as a one-argument row.
+	 */
+	public static Iterator<Object[]> rows(Iterator<?> source) {
+		return new Iterator<Object[]>() {
+
+			@Override
+			public boolean hasNext() {
+				return source.hasNext();
+			}
+
+			@Override
+			public Object[] next() {
+				return new Object[] { source.next() };
+			}
+		};
+	}
+
+	/**
+	 * Rows of a {@code .csv} (header line first) or {@code .jsonl}/{@code .ndjson} file, for this JVM's shard.
+	 * {@code location} is a file path or, failing that, a classpath resource.
+	 */
+	public static Iterator<DataRow> fromFile(String location) {
+		return fromFile(resolve(location), ConfigManager.getIntOrDefault("shard.index", 0),
+				ConfigManager.getIntOrDefault("shard.count", 1));
+	}
+
+	public static Iterator<DataRow> fromFile(Path file, int shardIndex, int shardCount) {
+		if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+			throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+		}
+		String name = file.getFileName().toString().toLowerCase();
+		boolean csv = name.endsWith(".csv");
+		if (!csv && !name.endsWith(".jsonl") && !name.endsWith(".ndjson")) {
+			throw new IllegalArgumentException("Unsupported data file (expected .csv, .jsonl or .ndjson): " + file);
+		}
+		long window = ConfigManager.getIntOrDefault("data.mmap.window.mb", 64) * 1024L * 1024L;
+		return new RowIterator(new MappedLineReader(file, window), csv, shardIndex, shardCount);
+	}
+
+	/**
+	 * A file path or, failing that, a classpath resource that is a plain file.
+	 */
+	public static Path resolve(String location) {
+		Path path = Paths.get(location);
+		if (Files.isRegularFile(path)) {
+			return path;
+		}
+		URL resource = DataProviders.class.getClassLoader().getResource(location);
+		if (resource == null || !"file".equals(resource.getProtocol())) {
+			throw new IllegalArgumentException("Data file not found (or not a plain file): " + location);
+		}
+		try {
+			return Paths.get(resource.toURI());
+		} catch (URISyntaxException e) {
+			throw new IllegalArgumentException("Bad data file location " + resource, e);
+		}
+	}
+
+	// Splits one CSV line: comma separated, double-quoted cells may hold commas and "" escapes
+	static List<String> splitCsv(String line) {
+		List<String> cells = new ArrayList<>();
+		StringBuilder cell = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					cell.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					cell.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				cells.add(cell.toString());
+				cell.setLength(0);
+			} else {
+				cell.append(c);
+			}
+		}
+		cells.add(cell.toString());
+		return cells;
+	}
+
+	private static class RowIterator implements Iterator<DataRow> {
+
+		private final MappedLineReader reader;
+		private final boolean csv;
+		private final int shardIndex;
+		private final int shardCount;
+		private final List<String> header;
+		private long index = -1;
+		private DataRow next;
+		private boolean closed;
+
+		RowIterator(MappedLineReader reader, boolean csv, int shardIndex, int shardCount) {
+			this.reader = reader;
+			this.csv = csv;
+			this.shardIndex = shardIndex;
+			this.shardCount = shardCount;
+			String first = csv ? reader.readLine() : null;
+			this.header = first == null ? null : splitCsv(first);
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && !closed) {
+				next = advance();
+			}
+			return next != null;
+		}
+
+		@Override
+		public DataRow next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			DataRow row = next;
+			next = null;
+			return row;
+		}
+
+		// Other shards' lines are only scanned for their newline, never decoded or parsed
+		private DataRow advance() {
+			while (true) {
+				long current = ++index;
+				if (current % shardCount != shardIndex) {
+					if (!reader.skipLine()) {
+						close();
+						return null;
+					}
+					continue;
+				}
+				String line = reader.readLine();
+				if (line == null) {
+					close();
+					return null;
+				}
+				if (!line.isBlank()) {
+					return new DataRow(current, csv ? toNode(line) : parseJson(line));
+				}
+			}
+		}
+
+		private JsonNode toNode(String line) {
+			List<String> cells = splitCsv(line);
+			ObjectNode node = ObjectMappers.getMapper().createObjectNode();
+			for (int i = 0; i < header.size(); i++) {
+				node.put(header.get(i), i < cells.size() ? cells.get(i) : null);
+			}
+			return node;
+		}
+
+		private JsonNode parseJson(String line) {
+			try {
+				return ObjectMappers.getMapper().readTree(line);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Bad JSON on data row " + index, e);
+			}
+		}
+
+		private void close() {
+			if (!closed) {
+				closed = true;
+				reader.close();
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import utils.ObjectMappers;
+
+/**
+ * One row of a CSV or JSONL data file. CSV cells arrive as strings; JSONL rows keep their JSON types.
+ * {@code index} is the row's line number in the whole file, counting from 0 after any CSV header, so a failure
+ * can be traced back to its line whichever shard ran it.
+ */
+public class DataRow {
+
+	private final long index;
+	private final JsonNode fields;
+
+	DataRow(long index, JsonNode fields) {
+		this.index = index;
+		this.fields = fields;
+	}
+
+	public long getIndex() {
+		return index;
+	}
+
+	public JsonNode getFields() {
+		return fields;
+	}
+
+	public boolean has(String name) {
+		return fields.hasNonNull(name);
+	}
+
+	public String get(String name) {
+		JsonNode value = fields.get(name);
+		return value == null || value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString();
+	}
+
+	public int getInt(String name, int defaultValue) {
+		JsonNode value = fields.get(name);
+		return value == null || value.isNull() ? defaultValue : value.asInt(defaultValue);
+	}
+
+	/**
+	 * Binds the row (or the nested object under {@code name}, when given) to a model type.
+	 */
+	public <T> T as(Class<T> type) {
+		return bind(fields, type);
+	}
+
+	public <T> T as(String name, Class<T> type) {
+		JsonNode value = fields.get(name);
+		return value == null || value.isNull() ? null : bind(value, type);
+	}
+
+	private static <T> T bind(JsonNode node, Class<T> type) {
+		try {
+			return ObjectMappers.reader(type).readValue(node);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot bind data row to " + type.getSimpleName(), e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "row " + index + ": " + fields;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a file line by line through a sliding memory-mapped window, so files larger than the heap (or than
+ * 2 GB, the limit of one mapping) can be scanned. Lines that are skipped are only searched for their newline,
+ * never decoded. Accepts {@code \n} and {@code \r\n} line endings.
+ */
+final class MappedLineReader implements Closeable {
+
+	private final FileChannel channel;
+	private final long size;
+	private final long windowBytes;
+	private MappedByteBuffer window;
+	private long windowStart;
+	private byte[] line = new byte[256];
+
+	MappedLineReader(Path file, long windowBytes) {
+		try {
+			this.channel = FileChannel.open(file, StandardOpenOption.READ);
+			this.size = channel.size();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open " + file, e);
+		}
+		this.windowBytes = windowBytes;
+	}
+
+	/**
+	 * The next line decoded as UTF-8 without its line ending, or null at the end of the file.
+	 */
+	String readLine() {
+		int length = 0;
+		int b;
+		while ((b = read()) >= 0 && b != '\n') {
+			if (length == line.length) {
+				line = Arrays.copyOf(line, length * 2);
+			}
+			line[length++] = (byte) b;
+		}
+		if (b < 0 && length == 0) {
+			return null;
+		}
+		if (length > 0 && line[length - 1] == '\r') {
+			length--;
+		}
+		return new String(line, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Moves past the next line without decoding it; false at the end of the file.
+	 */
+	boolean skipLine() {
+		int b = read();
+		if (b < 0) {
+			return false;
+		}
+		while (b >= 0 && b != '\n') {
+			b = read();
+		}
+		return true;
+	}
+
+	private int read() {
+		if (window == null || !window.hasRemaining()) {
+			long next = window == null ? 0 : windowStart + window.limit();
+			if (next >= size) {
+				return -1;
+			}
+			try {
+				window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowBytes, size - next));
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot map bytes " + next + "+ of the data file", e);
+			}
+			windowStart = next;
+		}
+		return window.get() & 0xFF;
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package data;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+import config.ConfigManager;
+import models.PatchPostRequest;
+import models.Post;
+
+/**
+ * Reproducible stream of valid {@link Post} and {@link PatchPostRequest} payloads. Payload {@code n} depends only
+ * on the seed and {@code n}, so any slice of the stream can be regenerated on its own, and the iterators build
+ * each payload only when asked for it. Pass them to {@code BaseTest.forEachRow} to keep a run of any
+ * {@code data.count} in constant memory; fed to a TestNG data provider instead, every payload becomes a test
+ * result that TestNG keeps until the suite ends.
+ * <p>
+ * Bounds come from {@code schemas/postPostSchema.json}; where it leaves string lengths open,
+ * {@code data.title.max.length} and {@code data.body.max.length} apply. Lengths are log-uniform between the
+ * bounds, {@code data.boundary.rate} of the fields sit exactly on or next to a bound, and
+ * {@code data.unicode.rate} of the characters come from outside ASCII (accents, Cyrillic, CJK, emoji as
+ * surrogate pairs, combining marks).
+ */
+public class PayloadGenerator {
+
+	public static final String SCHEMA = "schemas/postPostSchema.json";
+
+	// Characters that need escaping in JSON, so they show up in ASCII text too
+	private static final String ASCII_SPECIALS = " \"\\/\t\n";
+	private static final int[][] UNICODE_RANGES = { { 0x00C0, 0x00FF }, { 0x0410, 0x044F }, { 0x4E00, 0x4FFF },
+			{ 0x1F600, 0x1F64F } };
+	private static final int COMBINING_MIN = 0x0300;
+	private static final int COMBINING_MAX = 0x036F;
+
+	private final long seed;
+	private final int minUserId;
+	private final int maxUserId;
+	private final int minTitle;
+	private final int maxTitle;
+	private final int minBody;
+	private final int maxBody;
+	private final double boundaryRate;
+	private final double unicodeRate;
+
+	public PayloadGenerator(long seed, SchemaConstraints schema, int maxUserId, int maxTitle, int maxBody,
+			double boundaryRate, double unicodeRate) {
+		this.seed = seed;
+		this.minUserId = schema.minimum("userId", 1);
+		this.maxUserId = schema.maximum("userId", maxUserId);
+		this.minTitle = Math.max(1, schema.minLength("title", 1));
+		this.maxTitle = schema.maxLength("title", maxTitle);
+		this.minBody = Math.max(1, schema.minLength("body", 1));
+		this.maxBody = schema.maxLength("body", maxBody);
+		this.boundaryRate = boundaryRate;
+		this.unicodeRate = unicodeRate;
+	}
+
+	public static PayloadGenerator fromConfig() {
+		return new PayloadGenerator(Long.parseLong(ConfigManager.getOrDefault("data.seed", "42")),
+				SchemaConstraints.load(SCHEMA),
+				ConfigManager.getIntOrDefault("data.user.max", 10),
+				ConfigManager.getIntOrDefault("data.title.max.length", 256),
+				ConfigManager.getIntOrDefault("data.body.max.length", 2048),
+				ConfigManager.getDoubleOrDefault("data.boundary.rate", 0.1),
+				ConfigManager.getDoubleOrDefault("data.unicode.rate", 0.2));
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public Post post(long index) {
+		SplittableRandom random = random(index, 1);
+		return new Post(userId(random), text(random, minTitle, maxTitle), text(random, minBody, maxBody));
+	}
+
+	/**
+	 * A PATCH body that sets the title, the body or both; never neither.
+	 */
+	public PatchPostRequest patch(long index) {
+		SplittableRandom random = random(index, 2);
+		int fields = random.nextInt(3);
+		String title = fields != 1 ? text(random, minTitle, maxTitle) : null;
+		String body = fields != 0 ? text(random, minBody, maxBody) : null;
+		return new PatchPostRequest(title, body);
+	}
+
+	public Iterator<Post> posts(long count) {
+		return iterate(count, this::post);
+	}
+
+	public Iterator<PatchPostRequest> patches(long count) {
+		return iterate(count, this::patch);
+	}
+
+	private static <T> Iterator<T> iterate(long count, LongFunction<T> generator) {
+		return new Iterator<T>() {
+
+			private long next;
+
+			@Override
+			public boolean hasNext() {
+				return next < count;
+			}
+
+			@Override
+			public T next() {
+				if (next >= count) {
+					throw new NoSuchElementException();
+				}
+				return generator.apply(next++);
+			}
+		};
+	}
+
+	// Independent per (seed, index, kind): payload n comes out the same however the stream is sliced
+	private SplittableRandom random(long index, long kind) {
+		return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index * 31 + kind);
+	}
+
+	private int userId(SplittableRandom random) {
+		if (random.nextDouble() < boundaryRate) {
+			return random.nextBoolean() ? minUserId : maxUserId;
+		}
+		return minUserId + random.nextInt(maxUserId - minUserId + 1);
+	}
+
+	private int length(SplittableRandom random, int min, int max) {
+		if (random.nextDouble() < boundaryRate) {
+			switch (random.nextInt(4)) {
+			case 0:
+				return min;
+			case 1:
+				return Math.min(min + 1, max);
+			case 2:
+				return Math.max(max - 1, min);
+			default:
+				return max;
+			}
+		}
+		// Log-uniform: mostly short strings with a long tail up to max
+		double logMin = Math.log(min);
+		double logMax = Math.log(max + 1);
+		return (int) Math.min(max, Math.floor(Math.exp(logMin + random.nextDouble() * (logMax - logMin))));
+	}
+
+	// Length is in code points, which is what JSON Schema's minLength and maxLength count
+	private String text(SplittableRandom random, int min, int max) {
+		int length = length(random, min, max);
+		StringBuilder sb = new StringBuilder(length + 8);
+		for (int i = 0; i < length; i++) {
+			sb.appendCodePoint(codePoint(random, i == 0));
+		}
+		return sb.toString();
+	}
+
+	private int codePoint(SplittableRandom random, boolean first) {
+		if (random.nextDouble() >= unicodeRate) {
+			int roll = random.nextInt(64);
+			if (roll < ASCII_SPECIALS.length() && !first) {
+				return ASCII_SPECIALS.charAt(roll);
+			}
+			return roll < 32 ? 'a' + random.nextInt(26) : roll < 48 ? 'A' + random.nextInt(26) : '0' + random.nextInt(10);
+		}
+		// A combining mark needs a base character before it
+		if (!first && random.nextInt(8) == 0) {
+			return COMBINING_MIN + random.nextInt(COMBINING_MAX - COMBINING_MIN + 1);
+		}
+		int[] range = UNICODE_RANGES[random.nextInt(UNICODE_RANGES.length)];
+		return range[0] + random.nextInt(range[1] - range[0] + 1);
+	}
+}
\ No newline at end of file
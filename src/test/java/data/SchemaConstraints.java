@@ -0,0 +1,61 @@
+package data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * The bounds a generator has to respect, read from a draft-07 schema's {@code properties}: {@code minimum} and
+ * {@code maximum} for integers, {@code minLength} and {@code maxLength} for strings. A bound the schema leaves
+ * open falls back to the default given by the caller.
+ */
+public class SchemaConstraints {
+
+	private final JSONObject properties;
+
+	private SchemaConstraints(JSONObject properties) {
+		this.properties = properties;
+	}
+
+	public static SchemaConstraints load(String resource) {
+		InputStream input = SchemaConstraints.class.getClassLoader().getResourceAsStream(resource);
+		if (input == null) {
+			throw new IllegalArgumentException("Schema not found on classpath: " + resource);
+		}
+		try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+			JSONObject root = (JSONObject) new JSONParser().parse(reader);
+			JSONObject properties = (JSONObject) root.get("properties");
+			return new SchemaConstraints(properties == null ? new JSONObject() : properties);
+		} catch (IOException | ParseException e) {
+			throw new IllegalArgumentException("Cannot read schema " + resource, e);
+		}
+	}
+
+	public int minimum(String property, int defaultValue) {
+		return bound(property, "minimum", defaultValue);
+	}
+
+	public int maximum(String property, int defaultValue) {
+		return bound(property, "maximum", defaultValue);
+	}
+
+	public int minLength(String property, int defaultValue) {
+		return bound(property, "minLength", defaultValue);
+	}
+
+	public int maxLength(String property, int defaultValue) {
+		return bound(property, "maxLength", defaultValue);
+	}
+
+	private int bound(String property, String keyword, int defaultValue) {
+		JSONObject definition = (JSONObject) properties.get(property);
+		Object value = definition == null ? null : definition.get(keyword);
+		return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+	}
+}
\ No newline at end of file
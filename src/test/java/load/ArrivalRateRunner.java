@@ -0,0 +1,191 @@
+package load;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import base.BaseTest;
+import config.ConfigManager;
+import metrics.LatencyRegistry;
+import server.PostsStandInServer;
+import specs.HttpClientPool;
+import utils.LoggerUtils;
+
+/**
+ * Open-model load: scenarios start at the times {@code arrival.rate.profile} dictates, whether or not earlier ones
+ * have finished, so a slow server builds a backlog instead of quietly lowering the request rate. Scenario response
+ * times are measured from the intended start, which includes any time spent waiting for a free worker, so they do
+ * not suffer from coordinated omission. The per-endpoint table still shows pure service time.
+ * <p>
+ * Scenarios are blocking REST Assured calls, so each one in flight holds a worker thread: up to
+ * {@code arrival.max.in.flight} run at once over the shared connection pool, up to {@code arrival.max.queue} more
+ * wait for a worker, and arrivals beyond that are dropped. A dropped arrival never got a response, so it is
+ * recorded at the histogram's ceiling (one hour) and the percentiles show it; the summary also counts drops per
+ * scenario.
+ */
+public class ArrivalRateRunner {
+
+	private static final Logger log = LoggerUtils.getLogger(ArrivalRateRunner.class);
+
+	// Park until this close to the intended time, then spin, for sub-millisecond send times
+	private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private final RateProfile rates;
+	private final List<Scenario> scenarios;
+	private final ScenarioPicker picker;
+	private final int maxInFlight;
+	private final int maxQueue;
+	private final Map<Scenario, ConcurrentHistogram> responseTimes = new IdentityHashMap<>();
+	private final Map<Scenario, LongAdder> drops = new IdentityHashMap<>();
+	private final LongAdder issued = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+
+	public ArrivalRateRunner(RateProfile rates, List<Scenario> scenarios, int maxInFlight, int maxQueue) {
+		if (maxInFlight < 1 || maxQueue < 1) {
+			throw new IllegalArgumentException("arrival.max.in.flight and arrival.max.queue must be at least 1");
+		}
+		if (scenarios.isEmpty()) {
+			throw new IllegalArgumentException("arrival.scenarios is empty");
+		}
+		this.rates = rates;
+		this.scenarios = scenarios;
+		this.picker = new ScenarioPicker(scenarios);
+		this.maxInFlight = maxInFlight;
+		this.maxQueue = maxQueue;
+		for (Scenario scenario : scenarios) {
+			// 1 µs .. 1 hour at 3 significant digits
+			responseTimes.put(scenario, new ConcurrentHistogram(TimeUnit.HOURS.toMicros(1), 3));
+			drops.put(scenario, new LongAdder());
+		}
+	}
+
+	public static ArrivalRateRunner fromConfig() {
+		return new ArrivalRateRunner(RateProfile.parse(ConfigManager.get("arrival.rate.profile")),
+				LoadProfile.parseScenarios(ConfigManager.get("arrival.scenarios")),
+				ConfigManager.getIntOrDefault("arrival.max.in.flight", 200),
+				ConfigManager.getIntOrDefault("arrival.max.queue", 10_000));
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		System.setProperty("http.log.mode", System.getProperty("http.log.mode", "none"));
+		Configurator.setLevel("tests", Level.WARN);
+
+		BaseTest.configureRestAssured();
+		BaseTest.startStandInIfEnabled();
+		ArrivalRateRunner runner = fromConfig();
+		log.info("Starting open-model run: {} (~{} arrivals), max {} in flight", runner.rates,
+				Math.round(runner.rates.getExpectedArrivals()), runner.maxInFlight);
+
+		long elapsedNanos = runner.run();
+		String summary = runner.summarize(elapsedNanos);
+		log.info("Open-model run finished\n{}", summary);
+		LoadRunner.writeSummary("arrival-summary.txt", summary);
+		HttpClientPool.shutdown();
+		PostsStandInServer.stop();
+	}
+
+	/**
+	 * Issues every arrival of the profile, waits for the backlog to drain and returns the wall-clock time it took,
+	 * in nanoseconds.
+	 */
+	public long run() throws InterruptedException {
+		LatencyRegistry.reset();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(maxQueue), r -> {
+					Thread t = new Thread(r);
+					t.setName("arrival-" + t.getId());
+					return t;
+				});
+		executor.prestartAllCoreThreads();
+		long start = System.nanoTime();
+		RateProfile.Schedule schedule = rates.schedule();
+		try {
+			for (long offset; (offset = schedule.nextOffsetNanos()) >= 0;) {
+				long intended = start + offset;
+				sleepUntil(intended);
+				Scenario scenario = picker.pick();
+				try {
+					executor.execute(() -> {
+						scenario.runOnce();
+						record(scenario, System.nanoTime() - intended);
+					});
+					issued.increment();
+				} catch (RejectedExecutionException e) {
+					dropped.increment();
+					drops.get(scenario).increment();
+					ConcurrentHistogram histogram = responseTimes.get(scenario);
+					histogram.recordValue(histogram.getHighestTrackableValue());
+				}
+			}
+		} finally {
+			executor.shutdown();
+			while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				// keep waiting for the backlog to drain
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void sleepUntil(long deadline) throws InterruptedException {
+		for (long wait; (wait = deadline - System.nanoTime()) > SPIN_NANOS;) {
+			LockSupport.parkNanos(wait - SPIN_NANOS);
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+		}
+		while (System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private void record(Scenario scenario, long nanos) {
+		ConcurrentHistogram histogram = responseTimes.get(scenario);
+		histogram.recordValue(Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos),
+				histogram.getHighestTrackableValue())));
+	}
+
+	public long getIssued() {
+		return issued.sum();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	String summarize(long elapsedNanos) {
+		StringBuilder sb = LoadRunner.endpointTable(elapsedNanos);
+		sb.append(String.format("%nArrivals: %d issued at %.1f/s (target ~%d), %d dropped%n", getIssued(),
+				getIssued() / (rates.getDurationNanos() / 1e9), Math.round(rates.getExpectedArrivals()),
+				getDropped()));
+		sb.append(String.format("%n%-72s %10s %9s %9s %9s %9s %9s %9s%n", "Scenario (from intended start)", "Runs",
+				"Failed", "Dropped", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		for (Scenario scenario : scenarios) {
+			ConcurrentHistogram histogram = responseTimes.get(scenario);
+			sb.append(String.format("%-72s %10d %9d %9d %9.2f %9.2f %9.2f %9.2f%n", scenario.getName(),
+					scenario.getIterations(), scenario.getFailures(), drops.get(scenario).sum(),
+					histogram.getValueAtPercentile(50) / 1000.0,
+					histogram.getValueAtPercentile(90) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+					histogram.getMaxValue() / 1000.0));
+			if (drops.get(scenario).sum() > 0) {
+				sb.append(String.format("    percentiles count each dropped arrival as %.2f ms%n",
+						histogram.highestEquivalentValue(histogram.getHighestTrackableValue()) / 1000.0));
+			}
+			if (scenario.getLastFailure() != null) {
+				String failure = String.valueOf(scenario.getLastFailure()).replace('\n', ' ').trim();
+				sb.append("    last failure: ").append(failure).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package load;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import utils.ObjectMappers;
+
+/**
+ * Streams {@link RecordedExchange}s out of a capture file, one entry at a time, so captures larger than the heap
+ * can be replayed.
+ * <p>
+ * {@code .har} files are read entry by entry from {@code log.entries} and keep request and response bodies. Any
+ * other file is read as an access log in Common or Combined Log Format; those carry method, path, status and a
+ * timestamp to the second, but no bodies.
+ */
+public abstract class CaptureReader implements Iterator<RecordedExchange>, Closeable {
+
+	private RecordedExchange next;
+	private long index;
+	private long firstMillis = Long.MIN_VALUE;
+	private boolean done;
+
+	public static CaptureReader open(Path file) {
+		try {
+			if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".har")) {
+				return new HarReader(file);
+			}
+			return new AccessLogReader(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open capture " + file, e);
+		}
+	}
+
+	/**
+	 * The next exchange, built through {@link #exchange}, or null at the end of the capture.
+	 */
+	abstract RecordedExchange read() throws IOException;
+
+	RecordedExchange exchange(long epochMillis, String method, String url, String requestBody, int status,
+			String responseBody) {
+		if (firstMillis == Long.MIN_VALUE) {
+			firstMillis = epochMillis;
+		}
+		return new RecordedExchange(index++, Math.max(0, epochMillis - firstMillis), method.toUpperCase(Locale.ROOT),
+				toPath(url), requestBody, status, responseBody);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null && !done) {
+			try {
+				next = read();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot read capture entry " + index, e);
+			}
+			if (next == null) {
+				done = true;
+				closeQuietly();
+			}
+		}
+		return next != null;
+	}
+
+	@Override
+	public RecordedExchange next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		RecordedExchange exchange = next;
+		next = null;
+		return exchange;
+	}
+
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+			// nothing left to read anyway
+		}
+	}
+
+	// Captured URLs are absolute; only the path and the query string are replayed, against base.url
+	static String toPath(String url) {
+		if (!url.startsWith("http://") && !url.startsWith("https://")) {
+			return url;
+		}
+		URI uri = URI.create(url);
+		String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+	}
+
+	private static final class HarReader extends CaptureReader {
+
+		private final JsonParser parser;
+
+		HarReader(Path file) throws IOException {
+			this.parser = ObjectMappers.getMapper().getFactory().createParser(file.toFile());
+			seekEntries();
+		}
+
+		// Leaves the parser on the START_ARRAY of log.entries, skipping everything before it without building it
+		private void seekEntries() throws IOException {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.FIELD_NAME && "entries".equals(parser.getCurrentName())
+						&& "log".equals(parser.getParsingContext().getParent().getCurrentName())) {
+					if (parser.nextToken() != JsonToken.START_ARRAY) {
+						throw new IOException("log.entries is not an array");
+					}
+					return;
+				}
+			}
+			throw new IOException("No log.entries in HAR file");
+		}
+
+		@Override
+		RecordedExchange read() throws IOException {
+			if (parser.isClosed() || parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			JsonNode entry = ObjectMappers.getMapper().readTree(parser);
+			JsonNode request = entry.path("request");
+			JsonNode response = entry.path("response");
+			long started;
+			try {
+				started = OffsetDateTime.parse(entry.path("startedDateTime").asText()).toInstant().toEpochMilli();
+			} catch (DateTimeParseException e) {
+				throw new IOException("Bad startedDateTime in HAR entry: " + entry.path("startedDateTime"), e);
+			}
+			JsonNode postData = request.path("postData").path("text");
+			return exchange(started, request.path("method").asText(), request.path("url").asText(),
+					postData.isTextual() ? postData.asText() : null, response.path("status").asInt(-1),
+					content(response.path("content")));
+		}
+
+		private static String content(JsonNode content) {
+			JsonNode text = content.path("text");
+			if (!text.isTextual()) {
+				return null;
+			}
+			if ("base64".equals(content.path("encoding").asText())) {
+				return new String(Base64.getDecoder().decode(text.asText()), StandardCharsets.UTF_8);
+			}
+			return text.asText();
+		}
+
+		@Override
+		public void close() throws IOException {
+			parser.close();
+		}
+	}
+
+	private static final class AccessLogReader extends CaptureReader {
+
+		// host ident user [time] "METHOD target PROTOCOL" status ...
+		private static final Pattern LINE = Pattern
+				.compile("^\\S+ \\S+ \\S+ \\[([^\\]]+)\\] \"(\\S+) (\\S+)[^\"]*\" (\\d{3}) ");
+		private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z",
+				Locale.ENGLISH);
+
+		private final BufferedReader reader;
+		private long lineNumber;
+
+		AccessLogReader(Path file) throws IOException {
+			this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		RecordedExchange read() throws IOException {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				Matcher m = LINE.matcher(line);
+				if (!m.find()) {
+					throw new IOException("Line " + lineNumber + " is not in Common/Combined Log Format: " + line);
+				}
+				long time;
+				try {
+					time = OffsetDateTime.parse(m.group(1), TIME).toInstant().toEpochMilli();
+				} catch (DateTimeParseException e) {
+					throw new IOException("Bad timestamp on line " + lineNumber + ": " + m.group(1), e);
+				}
+				return exchange(time, m.group(2), m.group(3), null, Integer.parseInt(m.group(4)), null);
+			}
+			return null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+}
\ No newline at end of file
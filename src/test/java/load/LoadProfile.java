@@ -0,0 +1,146 @@
+package load;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import base.BaseTest;
+import config.ConfigManager;
+
+/**
+ * Load settings read from config.properties (or -D overrides).
+ * <p>
+ * {@code load.scenarios} is a {@code ;}-separated list of {@code Class#method:weight} or {@code Class:weight}
+ * entries; a class entry expands to each of its {@code @Test} methods with that weight.
+ */
+public class LoadProfile {
+
+	private final int users;
+	private final int durationSeconds;
+	private final long iterations;
+	private final int rampUpSeconds;
+	private final List<Scenario> scenarios;
+
+	LoadProfile(int users, int durationSeconds, long iterations, int rampUpSeconds, List<Scenario> scenarios) {
+		if (users < 1) {
+			throw new IllegalArgumentException("load.users must be at least 1");
+		}
+		if (durationSeconds <= 0 && iterations <= 0) {
+			throw new IllegalArgumentException("Set load.duration.seconds or load.iterations");
+		}
+		if (scenarios.isEmpty()) {
+			throw new IllegalArgumentException("load.scenarios is empty");
+		}
+		this.users = users;
+		this.durationSeconds = durationSeconds;
+		this.iterations = iterations;
+		this.rampUpSeconds = rampUpSeconds;
+		this.scenarios = scenarios;
+	}
+
+	public static LoadProfile fromConfig() {
+		return new LoadProfile(ConfigManager.getIntOrDefault("load.users", 10),
+				ConfigManager.getIntOrDefault("load.duration.seconds", 60),
+				ConfigManager.getIntOrDefault("load.iterations", 0),
+				ConfigManager.getIntOrDefault("load.rampup.seconds", 0),
+				parseScenarios(ConfigManager.get("load.scenarios")));
+	}
+
+	static List<Scenario> parseScenarios(String spec) {
+		Map<Class<?>, BaseTest> instances = new HashMap<>();
+		List<Scenario> scenarios = new ArrayList<>();
+		for (String entry : spec.split(";")) {
+			entry = entry.trim();
+			if (entry.isEmpty()) {
+				continue;
+			}
+			int colon = entry.lastIndexOf(':');
+			int weight = colon < 0 ? 1 : Integer.parseInt(entry.substring(colon + 1).trim());
+			String target = colon < 0 ? entry : entry.substring(0, colon).trim();
+			if (weight < 1) {
+				// A zero total makes ScenarioPicker throw on every pick; negative weights skew the picks
+				throw new IllegalArgumentException("Weight of load scenario '" + target + "' must be at least 1");
+			}
+			int hash = target.indexOf('#');
+			String className = hash < 0 ? target : target.substring(0, hash);
+			String methodName = hash < 0 ? null : target.substring(hash + 1);
+			BaseTest instance = instances.computeIfAbsent(loadClass(className), LoadProfile::instantiate);
+
+			int before = scenarios.size();
+			for (Method method : testMethods(instance.getClass())) {
+				if (methodName == null || method.getName().equals(methodName)) {
+					scenarios.add(new Scenario(instance, method, weight));
+				}
+			}
+			if (scenarios.size() == before) {
+				throw new IllegalArgumentException("No @Test method found for load scenario '" + target + "'");
+			}
+		}
+		return scenarios;
+	}
+
+	private static Class<?> loadClass(String className) {
+		try {
+			return Class.forName(className);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Unknown test class in load.scenarios: " + className, e);
+		}
+	}
+
+	private static BaseTest instantiate(Class<?> testClass) {
+		if (!BaseTest.class.isAssignableFrom(testClass)) {
+			throw new IllegalArgumentException(testClass.getName() + " does not extend BaseTest");
+		}
+		try {
+			return (BaseTest) testClass.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Cannot instantiate " + testClass.getName(), e);
+		}
+	}
+
+	private static List<Method> testMethods(Class<?> testClass) {
+		List<Method> methods = new ArrayList<>();
+		for (Method method : testClass.getMethods()) {
+			if (method.isAnnotationPresent(Test.class) && method.getParameterCount() == 0
+					&& !Modifier.isStatic(method.getModifiers())) {
+				methods.add(method);
+			}
+		}
+		methods.sort(Comparator.comparing(Method::getName));
+		return methods;
+	}
+
+	public int getUsers() {
+		return users;
+	}
+
+	public int getDurationSeconds() {
+		return durationSeconds;
+	}
+
+	public long getIterations() {
+		return iterations;
+	}
+
+	public int getRampUpSeconds() {
+		return rampUpSeconds;
+	}
+
+	public List<Scenario> getScenarios() {
+		return scenarios;
+	}
+
+	@Override
+	public String toString() {
+		return "LoadProfile{users=" + users + ", durationSeconds=" + durationSeconds + ", iterations=" + iterations
+				+ ", rampUpSeconds=" + rampUpSeconds + ", scenarios=" + Arrays.toString(
+						scenarios.stream().map(s -> s.getName() + ":" + s.getWeight()).toArray()) + '}';
+	}
+}
\ No newline at end of file
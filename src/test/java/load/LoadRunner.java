@@ -0,0 +1,144 @@
+package load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import base.BaseTest;
+import metrics.EndpointStats;
+import metrics.LatencyRegistry;
+import server.PostsStandInServer;
+import specs.HttpClientPool;
+import utils.LoggerUtils;
+
+/**
+ * Replays existing {@code @Test} methods as weighted scenarios across {@code load.users} virtual users, for
+ * {@code load.duration.seconds} or until {@code load.iterations} scenario runs have been made, starting users
+ * evenly over {@code load.rampup.seconds}. Prints throughput, error rate and latency percentiles per endpoint.
+ */
+public class LoadRunner {
+
+	private static final Logger log = LoggerUtils.getLogger(LoadRunner.class);
+
+	private final LoadProfile profile;
+	private final ScenarioPicker picker;
+
+	public LoadRunner(LoadProfile profile) {
+		this.profile = profile;
+		this.picker = new ScenarioPicker(profile.getScenarios());
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		// Per-iteration HTTP and test logging would dominate a load run
+		System.setProperty("http.log.mode", System.getProperty("http.log.mode", "none"));
+		Configurator.setLevel("tests", Level.WARN);
+
+		BaseTest.configureRestAssured();
+		// Parsed first, so a bad profile fails before the stand-in server's threads would keep the JVM up
+		LoadProfile profile = LoadProfile.fromConfig();
+		BaseTest.startStandInIfEnabled();
+		log.info("Starting load run: {}", profile);
+
+		long elapsedNanos = new LoadRunner(profile).run();
+		String summary = summarize(profile.getScenarios(), elapsedNanos);
+		log.info("Load run finished\n{}", summary);
+		writeSummary("load-summary.txt", summary);
+		HttpClientPool.shutdown();
+		PostsStandInServer.stop();
+	}
+
+	/**
+	 * Runs the profile and returns the wall-clock time it took, in nanoseconds.
+	 */
+	public long run() throws InterruptedException {
+		LatencyRegistry.reset();
+		int users = profile.getUsers();
+		long start = System.nanoTime();
+		long deadline = profile.getDurationSeconds() > 0 ? start + TimeUnit.SECONDS.toNanos(profile.getDurationSeconds())
+				: Long.MAX_VALUE;
+		AtomicLong remaining = new AtomicLong(profile.getIterations() > 0 ? profile.getIterations() : Long.MAX_VALUE);
+		long rampStepNanos = users > 1 ? TimeUnit.SECONDS.toNanos(profile.getRampUpSeconds()) / (users - 1) : 0;
+
+		ExecutorService executor = Executors.newFixedThreadPool(users, r -> {
+			Thread t = new Thread(r);
+			t.setName("vu-" + t.getId());
+			return t;
+		});
+		for (int i = 0; i < users; i++) {
+			long startAt = start + i * rampStepNanos;
+			executor.execute(() -> virtualUser(startAt, deadline, remaining));
+		}
+		executor.shutdown();
+		while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+			// keep waiting; each user stops on its own at the deadline or when iterations run out
+		}
+		return System.nanoTime() - start;
+	}
+
+	private void virtualUser(long startAt, long deadline, AtomicLong remaining) {
+		long delay = startAt - System.nanoTime();
+		if (delay > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+			picker.pick().runOnce();
+		}
+	}
+
+	static String summarize(List<Scenario> scenarios, long elapsedNanos) {
+		StringBuilder sb = endpointTable(elapsedNanos);
+		sb.append(String.format("%n%-72s %6s %10s %9s%n", "Scenario", "Weight", "Runs", "Failed"));
+		for (Scenario scenario : scenarios) {
+			sb.append(String.format("%-72s %6d %10d %9d%n", scenario.getName(), scenario.getWeight(),
+					scenario.getIterations(), scenario.getFailures()));
+			if (scenario.getLastFailure() != null) {
+				String failure = String.valueOf(scenario.getLastFailure()).replace('\n', ' ').trim();
+				sb.append("    last failure: ").append(failure).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	// Elapsed time and the per-endpoint rows of LatencyRegistry, shared with ReplayRunner
+	static StringBuilder endpointTable(long elapsedNanos) {
+		double seconds = elapsedNanos / 1e9;
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("Elapsed: %.1fs%n%n", seconds));
+		sb.append(String.format("%-28s %10s %10s %8s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Req/s",
+				"Errors", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+		for (EndpointStats stats : LatencyRegistry.all()) {
+			sb.append(String.format("%-28s %10d %10.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", stats.getEndpoint(),
+					stats.getCount(), stats.getCount() / seconds, stats.getErrorRate() * 100,
+					stats.getPercentileMillis(50), stats.getPercentileMillis(90), stats.getPercentileMillis(95),
+					stats.getPercentileMillis(99), stats.getPercentileMillis(100)));
+		}
+		return sb;
+	}
+
+	public static void writeSummary(String fileName, String summary) {
+		Path file = Paths.get("reports", fileName);
+		try {
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, summary, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			log.warn("Could not write {}: {}", file, e.getMessage());
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Target arrival rate over time, as a sequence of segments separated by {@code ;}:
+ * <ul>
+ * <li>{@code constant:RATE@SECONDS}</li>
+ * <li>{@code ramp:FROM->TO@SECONDS}, linear from one rate to the other</li>
+ * <li>{@code step:R1,R2,...@SECONDS}, each rate held for SECONDS</li>
+ * </ul>
+ * Rates are in requests per second and may be fractional.
+ */
+public class RateProfile {
+
+	private final List<Segment> segments;
+
+	RateProfile(List<Segment> segments) {
+		if (segments.isEmpty()) {
+			throw new IllegalArgumentException("Rate profile has no segments");
+		}
+		this.segments = Collections.unmodifiableList(segments);
+	}
+
+	public static RateProfile parse(String spec) {
+		List<Segment> segments = new ArrayList<>();
+		for (String entry : spec.split(";")) {
+			entry = entry.trim();
+			if (entry.isEmpty()) {
+				continue;
+			}
+			int colon = entry.indexOf(':');
+			int at = entry.lastIndexOf('@');
+			if (colon < 0 || at < colon) {
+				throw new IllegalArgumentException("Rate segment needs KIND:RATES@SECONDS: '" + entry + "'");
+			}
+			String kind = entry.substring(0, colon).trim();
+			String rates = entry.substring(colon + 1, at).trim();
+			double seconds = number(entry.substring(at + 1), entry);
+			switch (kind) {
+			case "constant":
+				segments.add(new Segment(number(rates, entry), number(rates, entry), seconds));
+				break;
+			case "ramp":
+				String[] range = rates.split("->");
+				if (range.length != 2) {
+					throw new IllegalArgumentException("Ramp needs FROM->TO: '" + entry + "'");
+				}
+				segments.add(new Segment(number(range[0], entry), number(range[1], entry), seconds));
+				break;
+			case "step":
+				for (String rate : rates.split(",")) {
+					segments.add(new Segment(number(rate, entry), number(rate, entry), seconds));
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown rate segment '" + kind + "' (constant, ramp or step)");
+			}
+		}
+		return new RateProfile(segments);
+	}
+
+	private static double number(String value, String entry) {
+		try {
+			double number = Double.parseDouble(value.trim());
+			if (number < 0 || Double.isNaN(number) || Double.isInfinite(number)) {
+				throw new IllegalArgumentException("Negative or non-finite value in rate segment '" + entry + "'");
+			}
+			return number;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Bad number '" + value.trim() + "' in rate segment '" + entry + "'", e);
+		}
+	}
+
+	public long getDurationNanos() {
+		long total = 0;
+		for (Segment segment : segments) {
+			total += segment.durationNanos;
+		}
+		return total;
+	}
+
+	/**
+	 * Expected number of arrivals over the whole profile.
+	 */
+	public double getExpectedArrivals() {
+		double total = 0;
+		for (Segment segment : segments) {
+			total += segment.arrivals();
+		}
+		return total;
+	}
+
+	/**
+	 * Arrival times as offsets from the start of the profile. Arrival {@code n} is due when the integral of the
+	 * rate reaches {@code n}, so times are exact for ramps too and rounding never accumulates.
+	 */
+	public Schedule schedule() {
+		return new Schedule();
+	}
+
+	@Override
+	public String toString() {
+		return segments.toString();
+	}
+
+	public final class Schedule {
+
+		private int segment;
+		private long segmentStartNanos;
+		private double arrivalsBeforeSegment;
+		private long next = 1;
+
+		private Schedule() {
+		}
+
+		/**
+		 * Offset of the next arrival in nanoseconds, or -1 once the profile is over.
+		 */
+		public long nextOffsetNanos() {
+			while (segment < segments.size()) {
+				Segment current = segments.get(segment);
+				double inSegment = next - arrivalsBeforeSegment;
+				if (inSegment <= current.arrivals()) {
+					next++;
+					return segmentStartNanos + current.offsetOf(inSegment);
+				}
+				arrivalsBeforeSegment += current.arrivals();
+				segmentStartNanos += current.durationNanos;
+				segment++;
+			}
+			return -1;
+		}
+	}
+
+	static final class Segment {
+
+		private final double fromRate;
+		private final double toRate;
+		private final long durationNanos;
+
+		Segment(double fromRate, double toRate, double seconds) {
+			this.fromRate = fromRate;
+			this.toRate = toRate;
+			this.durationNanos = (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+		}
+
+		double arrivals() {
+			return (fromRate + toRate) / 2 * durationNanos / 1e9;
+		}
+
+		// Solves fromRate*t + slope*t^2/2 = count for t
+		long offsetOf(double count) {
+			double seconds = durationNanos / 1e9;
+			double slope = (toRate - fromRate) / seconds;
+			double t;
+			if (Math.abs(slope) < 1e-12) {
+				t = count / fromRate;
+			} else {
+				t = (-fromRate + Math.sqrt(Math.max(0, fromRate * fromRate + 2 * slope * count))) / slope;
+			}
+			return (long) (Math.min(t, seconds) * 1e9);
+		}
+
+		@Override
+		public String toString() {
+			return fromRate == toRate ? String.format("%.1f/s for %ds", fromRate, durationNanos / 1_000_000_000L)
+					: String.format("%.1f->%.1f/s over %ds", fromRate, toRate, durationNanos / 1_000_000_000L);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package load;
+
+/**
+ * One request/response pair read from a capture. {@code path} is relative to the host and keeps the original
+ * query string. Fields the capture format does not record are null, or -1 for the status.
+ */
+public final class RecordedExchange {
+
+	private final long index;
+	private final long offsetMillis;
+	private final String method;
+	private final String path;
+	private final String requestBody;
+	private final int status;
+	private final String responseBody;
+
+	RecordedExchange(long index, long offsetMillis, String method, String path, String requestBody, int status,
+			String responseBody) {
+		this.index = index;
+		this.offsetMillis = offsetMillis;
+		this.method = method;
+		this.path = path;
+		this.requestBody = requestBody;
+		this.status = status;
+		this.responseBody = responseBody;
+	}
+
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Milliseconds between the first exchange of the capture and this one.
+	 */
+	public long getOffsetMillis() {
+		return offsetMillis;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public String getRequestBody() {
+		return requestBody;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public String getResponseBody() {
+		return responseBody;
+	}
+
+	@Override
+	public String toString() {
+		return "#" + index + " +" + offsetMillis + "ms " + method + " " + path + " -> " + status;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+package load;
+
+import static io.restassured.RestAssured.given;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+
+import base.BaseTest;
+import config.ConfigManager;
+import data.DataProviders;
+import data.PayloadGenerator;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import load.ReplayStats.EndpointMismatches;
+import load.ReplayStats.Mismatch;
+import metrics.LatencyRegistry;
+import server.PostsStandInServer;
+import specs.HttpClientPool;
+import specs.RequestSpecFactory;
+import utils.LoggerUtils;
+import utils.ObjectMappers;
+import utils.SchemaRegistry;
+
+/**
+ * Re-issues the requests of a capture ({@link CaptureReader}) through the {@link RequestSpecFactory} base spec
+ * against {@code base.url}, keeping the recorded inter-arrival times divided by {@code replay.speedup}
+ * ({@code 0} sends as fast as {@code replay.threads} allow). Requests are started on schedule whether or not
+ * earlier ones have answered, up to {@code replay.threads} in flight; beyond that they start late, and the
+ * lateness is reported.
+ * <p>
+ * Each response is checked as configured by {@code replay.compare}: {@code status} and {@code body} against the
+ * recorded response, {@code schema} against the schema {@code replay.schemas} maps its endpoint to (each element,
+ * when the response is an array). Writes from access logs, which have no bodies, are sent with payloads from
+ * {@link PayloadGenerator}.
+ */
+public class ReplayRunner {
+
+	private static final Logger log = LoggerUtils.getLogger(ReplayRunner.class);
+
+	private final Path capture;
+	private final double speedup;
+	private final int threads;
+	private final Set<Mismatch> checks;
+	private final Map<String, String> schemas;
+	private final ReplayStats stats = new ReplayStats();
+	private PayloadGenerator generator;
+
+	public ReplayRunner(Path capture, double speedup, int threads, Set<Mismatch> checks, Map<String, String> schemas) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("replay.threads must be at least 1");
+		}
+		this.capture = capture;
+		this.speedup = speedup;
+		this.threads = threads;
+		this.checks = checks;
+		this.schemas = schemas;
+	}
+
+	public static ReplayRunner fromConfig() {
+		return new ReplayRunner(DataProviders.resolve(ConfigManager.get("replay.file")),
+				ConfigManager.getDoubleOrDefault("replay.speedup", 1.0),
+				ConfigManager.getIntOrDefault("replay.threads", 50),
+				parseChecks(ConfigManager.getOrDefault("replay.compare", "status")),
+				parseSchemas(ConfigManager.getOrDefault("replay.schemas", "")));
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		System.setProperty("http.log.mode", System.getProperty("http.log.mode", "none"));
+		Configurator.setLevel("tests", Level.WARN);
+
+		BaseTest.configureRestAssured();
+		BaseTest.startStandInIfEnabled();
+		ReplayRunner runner = fromConfig();
+		log.info("Replaying {} against {} (speedup {}, {} threads, checks {})", runner.capture,
+				ConfigManager.get("base.url"), runner.speedup, runner.threads, runner.checks);
+
+		long elapsedNanos = runner.run();
+		String summary = runner.summarize(elapsedNanos);
+		log.info("Replay finished\n{}", summary);
+		LoadRunner.writeSummary("replay-summary.txt", summary);
+		HttpClientPool.shutdown();
+		PostsStandInServer.stop();
+	}
+
+	/**
+	 * Replays the whole capture and returns the wall-clock time it took, in nanoseconds.
+	 */
+	public long run() throws InterruptedException {
+		LatencyRegistry.reset();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r);
+			t.setName("replay-" + t.getId());
+			return t;
+		});
+		Semaphore inFlight = new Semaphore(threads);
+		long start = System.nanoTime();
+		try (CaptureReader reader = CaptureReader.open(capture)) {
+			while (reader.hasNext()) {
+				RecordedExchange exchange = reader.next();
+				long due = speedup > 0 ? start + (long) (TimeUnit.MILLISECONDS.toNanos(exchange.getOffsetMillis())
+						/ speedup) : System.nanoTime();
+				for (long wait; (wait = due - System.nanoTime()) > 0;) {
+					LockSupport.parkNanos(wait);
+				}
+				inFlight.acquire();
+				stats.recordLag(System.nanoTime() - due);
+				executor.execute(() -> {
+					try {
+						replay(exchange);
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+		} catch (IOException e) {
+			log.warn("Could not close capture {}: {}", capture, e.getMessage());
+		} finally {
+			executor.shutdown();
+			while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				// keep waiting for the requests still in flight
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	public ReplayStats getStats() {
+		return stats;
+	}
+
+	private void replay(RecordedExchange exchange) {
+		String endpoint = LatencyRegistry.endpointKey(exchange.getMethod(), exchange.getPath());
+		EndpointMismatches mismatches = stats.forEndpoint(endpoint);
+		mismatches.replayed();
+		Response response;
+		try {
+			// The captured path is already encoded
+			RequestSpecification request = given().spec(RequestSpecFactory.getRequestSpec()).urlEncodingEnabled(false);
+			Object body = body(exchange);
+			if (body != null) {
+				request.body(body);
+			}
+			response = request.request(exchange.getMethod(), exchange.getPath());
+		} catch (Throwable e) {
+			// Refused connections and timeouts arrive as checked exceptions REST Assured throws undeclared
+			mismatches.mismatch(Mismatch.ERROR, exchange + ": " + e);
+			return;
+		}
+		if (checks.contains(Mismatch.STATUS) && exchange.getStatus() > 0
+				&& response.statusCode() != exchange.getStatus()) {
+			mismatches.mismatch(Mismatch.STATUS, exchange + ", replayed " + response.statusCode());
+		}
+		if (checks.contains(Mismatch.BODY) && exchange.getResponseBody() != null
+				&& !sameBody(exchange.getResponseBody(), response.asString())) {
+			mismatches.mismatch(Mismatch.BODY, exchange + ": " + abbreviate(response.asString()));
+		}
+		String schema = schemas.get(endpoint);
+		if (checks.contains(Mismatch.SCHEMA) && schema != null && response.statusCode() < 300) {
+			String problem = validate(schema, response.asString());
+			if (problem != null) {
+				mismatches.mismatch(Mismatch.SCHEMA, exchange + ": " + problem);
+			}
+		}
+	}
+
+	private Object body(RecordedExchange exchange) {
+		if (exchange.getRequestBody() != null) {
+			return exchange.getRequestBody();
+		}
+		switch (exchange.getMethod()) {
+		case "POST":
+		case "PUT":
+			return generator().post(exchange.getIndex());
+		case "PATCH":
+			return generator().patch(exchange.getIndex());
+		default:
+			return null;
+		}
+	}
+
+	private synchronized PayloadGenerator generator() {
+		if (generator == null) {
+			generator = PayloadGenerator.fromConfig();
+		}
+		return generator;
+	}
+
+	// JSON bodies compare as trees, so key order and whitespace do not count
+	private static boolean sameBody(String recorded, String actual) {
+		try {
+			return ObjectMappers.getMapper().readTree(recorded).equals(ObjectMappers.getMapper().readTree(actual));
+		} catch (IOException e) {
+			return recorded.equals(actual);
+		}
+	}
+
+	private static String validate(String schema, String body) {
+		try {
+			JsonNode node = ObjectMappers.getMapper().readTree(body);
+			Iterable<JsonNode> items = node.isArray() ? node : Collections.singletonList(node);
+			for (JsonNode item : items) {
+				ProcessingReport report = SchemaRegistry.getSchema(schema).validate(item);
+				if (!report.isSuccess()) {
+					return abbreviate(report.toString());
+				}
+			}
+			return null;
+		} catch (IOException e) {
+			return "not JSON: " + abbreviate(body);
+		} catch (ProcessingException e) {
+			return e.getMessage();
+		}
+	}
+
+	private static String abbreviate(String text) {
+		String flat = text.replace('\n', ' ').trim();
+		return flat.length() <= 200 ? flat : flat.substring(0, 200) + "...";
+	}
+
+	String summarize(long elapsedNanos) {
+		StringBuilder sb = LoadRunner.endpointTable(elapsedNanos);
+		sb.append(String.format("%n%-28s %10s %9s %9s %9s %9s%n", "Endpoint", "Replayed", "Status", "Body",
+				"Schema", "Errors"));
+		for (EndpointMismatches endpoint : stats.all()) {
+			sb.append(String.format("%-28s %10d %9d %9d %9d %9d%n", endpoint.getEndpoint(), endpoint.getReplayed(),
+					endpoint.getCount(Mismatch.STATUS), endpoint.getCount(Mismatch.BODY),
+					endpoint.getCount(Mismatch.SCHEMA), endpoint.getCount(Mismatch.ERROR)));
+			if (endpoint.getLastMismatch() != null) {
+				sb.append("    last mismatch: ").append(endpoint.getLastMismatch()).append('\n');
+			}
+		}
+		sb.append(String.format("%nStart lag vs. recorded schedule: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+				stats.getLagPercentileMillis(50), stats.getLagPercentileMillis(99), stats.getLagPercentileMillis(100)));
+		return sb.toString();
+	}
+
+	// "none" or a comma-separated subset of status, body, schema
+	static Set<Mismatch> parseChecks(String spec) {
+		Set<Mismatch> checks = EnumSet.noneOf(Mismatch.class);
+		for (String check : spec.split(",")) {
+			check = check.trim().toUpperCase(Locale.ROOT);
+			if (check.isEmpty() || check.equals("NONE")) {
+				continue;
+			}
+			Mismatch kind;
+			try {
+				kind = Mismatch.valueOf(check);
+			} catch (IllegalArgumentException e) {
+				kind = Mismatch.ERROR;
+			}
+			if (kind == Mismatch.ERROR) {
+				throw new IllegalArgumentException("Unknown replay.compare check: '" + check.toLowerCase(Locale.ROOT)
+						+ "' (expected status, body, schema or none)");
+			}
+			checks.add(kind);
+		}
+		return checks;
+	}
+
+	// ;-separated "METHOD /path=schemas/file.json" entries, paths written as LatencyRegistry keys them
+	static Map<String, String> parseSchemas(String spec) {
+		Map<String, String> schemas = new HashMap<>();
+		for (String entry : spec.split(";")) {
+			entry = entry.trim();
+			if (entry.isEmpty()) {
+				continue;
+			}
+			int eq = entry.lastIndexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("replay.schemas entry needs METHOD /path=schema: '" + entry + "'");
+			}
+			schemas.put(entry.substring(0, eq).trim(), entry.substring(eq + 1).trim());
+		}
+		return schemas;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package load;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+/**
+ * Mismatch counts per endpoint for a replay, plus how late requests were sent compared with their recorded
+ * offset. Latency itself is recorded by {@link metrics.EndpointLatencyFilter} like any other request.
+ */
+public class ReplayStats {
+
+	public enum Mismatch {
+		STATUS, BODY, SCHEMA, ERROR
+	}
+
+	private final ConcurrentMap<String, EndpointMismatches> endpoints = new ConcurrentHashMap<>();
+	// 1 µs .. 1 hour at 3 significant digits
+	private final ConcurrentHistogram lagMicros = new ConcurrentHistogram(TimeUnit.HOURS.toMicros(1), 3);
+
+	EndpointMismatches forEndpoint(String endpoint) {
+		EndpointMismatches existing = endpoints.get(endpoint);
+		return existing != null ? existing : endpoints.computeIfAbsent(endpoint, EndpointMismatches::new);
+	}
+
+	void recordLag(long lagNanos) {
+		lagMicros.recordValue(Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMicros(lagNanos),
+				lagMicros.getHighestTrackableValue())));
+	}
+
+	public Collection<EndpointMismatches> all() {
+		List<EndpointMismatches> sorted = new ArrayList<>(endpoints.values());
+		sorted.sort(Comparator.comparing(EndpointMismatches::getEndpoint));
+		return sorted;
+	}
+
+	public double getLagPercentileMillis(double percentile) {
+		return lagMicros.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	public static class EndpointMismatches {
+
+		private final String endpoint;
+		private final LongAdder replayed = new LongAdder();
+		private final LongAdder[] counts = new LongAdder[Mismatch.values().length];
+		private volatile String lastMismatch;
+
+		EndpointMismatches(String endpoint) {
+			this.endpoint = endpoint;
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = new LongAdder();
+			}
+		}
+
+		void replayed() {
+			replayed.increment();
+		}
+
+		void mismatch(Mismatch kind, String detail) {
+			counts[kind.ordinal()].increment();
+			lastMismatch = kind + ": " + detail;
+		}
+
+		public String getEndpoint() {
+			return endpoint;
+		}
+
+		public long getReplayed() {
+			return replayed.sum();
+		}
+
+		public long getCount(Mismatch kind) {
+			return counts[kind.ordinal()].sum();
+		}
+
+		public String getLastMismatch() {
+			return lastMismatch;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package load;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+
+import base.BaseTest;
+
+/**
+ * One existing {@code @Test} method replayed as a weighted load scenario.
+ */
+public class Scenario {
+
+	private final BaseTest instance;
+	private final Method method;
+	private final int weight;
+	private final LongAdder iterations = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private volatile Throwable lastFailure;
+
+	Scenario(BaseTest instance, Method method, int weight) {
+		this.instance = instance;
+		this.method = method;
+		this.weight = weight;
+	}
+
+	void runOnce() {
+		instance.setupForLoad(method);
+		try {
+			method.invoke(instance);
+		} catch (InvocationTargetException e) {
+			failures.increment();
+			lastFailure = e.getCause();
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot invoke scenario " + getName(), e);
+		} finally {
+			iterations.increment();
+			instance.tearDownForLoad();
+		}
+	}
+
+	public String getName() {
+		return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	public long getIterations() {
+		return iterations.sum();
+	}
+
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	public Throwable getLastFailure() {
+		return lastFailure;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package load;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks scenarios at random in proportion to their weights.
+ */
+class ScenarioPicker {
+
+	private final List<Scenario> scenarios;
+	private final int[] cumulativeWeights;
+
+	ScenarioPicker(List<Scenario> scenarios) {
+		this.scenarios = scenarios;
+		this.cumulativeWeights = new int[scenarios.size()];
+		int total = 0;
+		for (int i = 0; i < scenarios.size(); i++) {
+			total += scenarios.get(i).getWeight();
+			cumulativeWeights[i] = total;
+		}
+	}
+
+	Scenario pick() {
+		int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (roll < cumulativeWeights[i]) {
+				return scenarios.get(i);
+			}
+		}
+		return scenarios.get(scenarios.size() - 1);
+	}
+}
\ No newline at end of file
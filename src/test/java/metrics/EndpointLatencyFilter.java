@@ -0,0 +1,43 @@
+package metrics;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import specs.StreamingBodyFilter;
+
+/**
+ * Records the latency of every request into {@link LatencyRegistry}. Responses with status 400 and above, and
+ * requests that throw, count as errors. Streamed bodies ({@link StreamingBodyFilter}) are timed up to the
+ * headers only.
+ */
+public class EndpointLatencyFilter implements OrderedFilter {
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		EndpointStats stats = LatencyRegistry.forEndpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+		long start = System.nanoTime();
+		Response response;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+			// Include the body download, not just the status line and headers, unless the test streams it
+			if (!StreamingBodyFilter.isStreaming(requestSpec)) {
+				response.asByteArray();
+			}
+		} catch (Throwable e) {
+			// Includes the checked ConnectException/SocketTimeoutException REST Assured throws undeclared
+			stats.record(System.nanoTime() - start, true);
+			throw e;
+		}
+		stats.record(System.nanoTime() - start, response.statusCode() >= 400);
+		return response;
+	}
+
+	@Override
+	public int getOrder() {
+		// Innermost, so other filters' work is not counted as request latency
+		return LOWEST_PRECEDENCE;
+	}
+}
\ No newline at end of file
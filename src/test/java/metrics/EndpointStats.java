@@ -0,0 +1,73 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency distribution and error count for one endpoint. Recording is lock-free, so every test thread can
+ * write to the same instance.
+ */
+public class EndpointStats {
+
+	// 1 µs .. 1 hour at 3 significant digits
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+	private final String endpoint;
+	private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+	private final LongAdder errors = new LongAdder();
+
+	EndpointStats(String endpoint) {
+		this.endpoint = endpoint;
+		histogram.setStartTimeStamp(System.currentTimeMillis());
+	}
+
+	public void record(long latencyNanos, boolean error) {
+		long micros = Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+		histogram.recordValue(micros);
+		if (error) {
+			errors.increment();
+		}
+	}
+
+	/**
+	 * Adds latencies recorded elsewhere, such as another JVM's histogram log, to this endpoint.
+	 */
+	public void add(Histogram recorded) {
+		histogram.add(recorded);
+		if (recorded.getStartTimeStamp() > 0) {
+			histogram.setStartTimeStamp(Math.min(histogram.getStartTimeStamp(), recorded.getStartTimeStamp()));
+		}
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public long getCount() {
+		return histogram.getTotalCount();
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	public double getErrorRate() {
+		long count = getCount();
+		return count == 0 ? 0.0 : (double) getErrors() / count;
+	}
+
+	public double getPercentileMillis(double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	public Histogram snapshot() {
+		Histogram copy = histogram.copy();
+		copy.setStartTimeStamp(histogram.getStartTimeStamp());
+		copy.setEndTimeStamp(System.currentTimeMillis());
+		copy.setTag(LatencyRegistry.toTag(endpoint));
+		return copy;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package metrics;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+/**
+ * Reference latency distributions per endpoint, stored in the same HdrHistogram log format that
+ * {@link LatencyRegistry#writeHistogramLog(Path)} produces. A baseline is just a run's log kept aside.
+ */
+public class LatencyBaseline {
+
+	private final Map<String, Histogram> histograms;
+
+	private LatencyBaseline(Map<String, Histogram> histograms) {
+		this.histograms = histograms;
+	}
+
+	public static boolean exists(Path file) {
+		return Files.isRegularFile(file);
+	}
+
+	public static LatencyBaseline load(Path file) {
+		Map<String, Histogram> histograms = new TreeMap<>();
+		HistogramLogReader reader;
+		try {
+			reader = new HistogramLogReader(file.toFile());
+		} catch (FileNotFoundException e) {
+			throw new UncheckedIOException("Latency baseline not found: " + file, e);
+		}
+		try {
+			EncodableHistogram next;
+			while ((next = reader.nextIntervalHistogram()) != null) {
+				Histogram histogram = (Histogram) next;
+				String endpoint = LatencyRegistry.fromTag(histogram.getTag());
+				Histogram existing = histograms.get(endpoint);
+				if (existing == null) {
+					histograms.put(endpoint, histogram);
+				} else {
+					existing.add(histogram);
+					existing.setEndTimeStamp(Math.max(existing.getEndTimeStamp(), histogram.getEndTimeStamp()));
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return new LatencyBaseline(histograms);
+	}
+
+	public Map<String, Histogram> getHistograms() {
+		return histograms;
+	}
+
+	public Histogram get(String endpoint) {
+		return histograms.get(endpoint);
+	}
+
+	public static double throughputPerSecond(Histogram histogram) {
+		double seconds = (histogram.getEndTimeStamp() - histogram.getStartTimeStamp()) / 1000.0;
+		return seconds <= 0 ? 0.0 : histogram.getTotalCount() / seconds;
+	}
+}
\ No newline at end of file
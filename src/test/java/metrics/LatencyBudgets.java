@@ -0,0 +1,93 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Percentile budgets per endpoint, read from {@code latency-budgets.json} on the classpath:
+ * {@code {"GET /posts/{id}": {"p50": 1000, "p99.9": 15000}}} with values in milliseconds.
+ */
+public class LatencyBudgets {
+
+	public static final String DEFAULT_RESOURCE = "latency-budgets.json";
+
+	private LatencyBudgets() {
+	}
+
+	public static List<Budget> load() {
+		return load(DEFAULT_RESOURCE);
+	}
+
+	public static List<Budget> load(String resource) {
+		InputStream input = LatencyBudgets.class.getClassLoader().getResourceAsStream(resource);
+		if (input == null) {
+			throw new IllegalArgumentException("Latency budget resource not found on classpath: " + resource);
+		}
+		try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+			JSONObject root = (JSONObject) new JSONParser().parse(reader);
+			List<Budget> budgets = new ArrayList<>();
+			for (Object endpointEntry : root.entrySet()) {
+				Map.Entry<?, ?> endpoint = (Map.Entry<?, ?>) endpointEntry;
+				for (Object percentileEntry : ((JSONObject) endpoint.getValue()).entrySet()) {
+					Map.Entry<?, ?> percentile = (Map.Entry<?, ?>) percentileEntry;
+					budgets.add(new Budget((String) endpoint.getKey(), (String) percentile.getKey(),
+							((Number) percentile.getValue()).doubleValue()));
+				}
+			}
+			budgets.sort(Comparator.comparing(Budget::getEndpoint).thenComparingDouble(Budget::getPercentile));
+			return budgets;
+		} catch (IOException | ParseException e) {
+			throw new IllegalArgumentException("Cannot read latency budgets from " + resource, e);
+		}
+	}
+
+	public static class Budget {
+
+		private final String endpoint;
+		private final String label;
+		private final double percentile;
+		private final double maxMillis;
+
+		Budget(String endpoint, String label, double maxMillis) {
+			if (!label.startsWith("p")) {
+				throw new IllegalArgumentException("Percentile must look like p95 or p99.9, got '" + label + "'");
+			}
+			this.endpoint = endpoint;
+			this.label = label;
+			this.percentile = Double.parseDouble(label.substring(1));
+			this.maxMillis = maxMillis;
+		}
+
+		public String getEndpoint() {
+			return endpoint;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public double getPercentile() {
+			return percentile;
+		}
+
+		public double getMaxMillis() {
+			return maxMillis;
+		}
+
+		@Override
+		public String toString() {
+			return endpoint + " " + label + " <= " + maxMillis + "ms";
+		}
+	}
+}
\ No newline at end of file
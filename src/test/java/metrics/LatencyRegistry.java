@@ -0,0 +1,98 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+/**
+ * Suite-wide per-endpoint latency stats, keyed by HTTP method and path with numeric segments folded into
+ * {@code {id}} (so {@code GET /posts/1} and {@code GET /posts/{id}} share one entry).
+ */
+public class LatencyRegistry {
+
+	private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+	private static final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+	private LatencyRegistry() {
+	}
+
+	public static EndpointStats forEndpoint(String method, String path) {
+		String key = endpointKey(method, path);
+		EndpointStats existing = stats.get(key);
+		return existing != null ? existing : stats.computeIfAbsent(key, EndpointStats::new);
+	}
+
+	public static String endpointKey(String method, String path) {
+		int query = path.indexOf('?');
+		String bare = query >= 0 ? path.substring(0, query) : path;
+		return method + " " + NUMERIC_SEGMENT.matcher(bare).replaceAll("/{id}");
+	}
+
+	// Error counts are not in the histogram log, so merged endpoints only carry latencies
+	public static void merge(String endpoint, Histogram histogram) {
+		stats.computeIfAbsent(endpoint, EndpointStats::new).add(histogram);
+	}
+
+	public static Collection<EndpointStats> all() {
+		List<EndpointStats> sorted = new ArrayList<>(stats.values());
+		sorted.sort(Comparator.comparing(EndpointStats::getEndpoint));
+		return sorted;
+	}
+
+	public static EndpointStats get(String endpoint) {
+		return stats.get(endpoint);
+	}
+
+	public static void reset() {
+		stats.clear();
+	}
+
+	/**
+	 * Writes one tagged histogram per endpoint in HdrHistogram log format, readable with HistogramLogReader or
+	 * HistogramLogProcessor so runs can be compared.
+	 */
+	public static void writeHistogramLog(Path file) {
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			HistogramLogWriter writer = new HistogramLogWriter(file.toFile());
+			try {
+				long now = System.currentTimeMillis();
+				writer.outputLogFormatVersion();
+				writer.outputStartTime(now);
+				writer.outputLegend();
+				for (EndpointStats endpointStats : all()) {
+					Histogram histogram = endpointStats.snapshot();
+					writer.outputIntervalHistogram(histogram.getStartTimeStamp() / 1000.0,
+							histogram.getEndTimeStamp() / 1000.0, histogram);
+				}
+			} finally {
+				writer.close();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot write latency histograms to " + file, e);
+		}
+	}
+
+	// HdrHistogram log tags cannot contain spaces or commas
+	static String toTag(String endpoint) {
+		return endpoint.replace(' ', ':');
+	}
+
+	public static String fromTag(String tag) {
+		return tag.replaceFirst(":", " ");
+	}
+}
\ No newline at end of file
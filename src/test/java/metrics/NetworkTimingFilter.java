@@ -0,0 +1,89 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import specs.StreamingBodyFilter;
+import utils.LoggerUtils;
+import utils.ReportNode;
+
+/**
+ * Breaks every request into {@link NetworkTimings} phases: pool lease, DNS, TCP connect, TLS handshake, request
+ * send, time to first byte and body download. Each request's phases go to {@link PhaseStats}, to the Log4j
+ * context as {@code %X{netPhases}} when a layout prints it and, at the end of the test, to its report node.
+ * <p>
+ * Runs just outside {@link EndpointLatencyFilter}, whose body read is what times the download. Streamed bodies
+ * ({@link StreamingBodyFilter}) are read by the test later, so their download shows as 0.
+ */
+public class NetworkTimingFilter implements OrderedFilter {
+
+	private static final Logger log = LoggerUtils.getLogger(NetworkTimingFilter.class);
+
+	// Only collected between startTest and finishTest, so load runs do not pile lines up
+	private static final ThreadLocal<List<String>> testLines = new ThreadLocal<>();
+
+	public static void startTest() {
+		testLines.set(new ArrayList<>());
+	}
+
+	public static void finishTest(ReportNode reportNode) {
+		List<String> lines = testLines.get();
+		testLines.remove();
+		if (lines != null && !lines.isEmpty() && reportNode != null) {
+			reportNode.info("Network timings: ", new Object() {
+				@Override
+				public String toString() {
+					return String.join("; ", lines);
+				}
+			});
+		}
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		NetworkTimings timings = NetworkTimings.begin();
+		Response response;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+			if (!StreamingBodyFilter.isStreaming(requestSpec)) {
+				timings.bodyReadBy(System.nanoTime());
+			}
+		} finally {
+			NetworkTimings.end();
+		}
+
+		PhaseStats.forEndpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath()).record(timings);
+
+		// The phase text is only built for a reader: an open test capture, a layout or debug logging
+		List<String> lines = testLines.get();
+		boolean inContext = LoggerUtils.isNetworkContextUsed();
+		boolean debug = log.isDebugEnabled();
+		if (lines == null && !inContext && !debug) {
+			return response;
+		}
+		String phases = timings.toString();
+		if (inContext) {
+			LoggerUtils.setNetworkContext(phases);
+		}
+		if (debug) {
+			log.debug("{} {}: {}", requestSpec.getMethod(), requestSpec.getURI(), phases);
+		}
+		if (lines != null) {
+			lines.add(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath() + " " + phases);
+		}
+		return response;
+	}
+
+	@Override
+	public int getOrder() {
+		return LOWEST_PRECEDENCE - 1;
+	}
+}
\ No newline at end of file
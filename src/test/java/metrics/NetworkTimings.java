@@ -0,0 +1,93 @@
+package metrics;
+
+/**
+ * Where one request's time went, by network phase. The HTTP client hooks in {@link specs.HttpClientPool} record
+ * into the capture {@link NetworkTimingFilter} opens on the calling thread; with no capture open (load runs
+ * outside the filter, other clients) recording does nothing.
+ * <p>
+ * {@code DNS}, {@code CONNECT} and {@code TLS} are only paid when the pool had to open a new connection.
+ */
+public final class NetworkTimings {
+
+	public enum Phase {
+		LEASE, DNS, CONNECT, TLS, SEND, TTFB, DOWNLOAD
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+	private static final String[] LABELS = new String[PHASES.length];
+	private static final ThreadLocal<NetworkTimings> current = new ThreadLocal<>();
+
+	static {
+		for (Phase phase : PHASES) {
+			LABELS[phase.ordinal()] = phase.name().toLowerCase() + '=';
+		}
+	}
+
+	private final long[] nanos = new long[PHASES.length];
+	private boolean newConnection;
+	private long headersReceivedAt;
+
+	private NetworkTimings() {
+	}
+
+	static NetworkTimings begin() {
+		NetworkTimings timings = new NetworkTimings();
+		current.set(timings);
+		return timings;
+	}
+
+	static void end() {
+		current.remove();
+	}
+
+	public static void record(Phase phase, long elapsedNanos) {
+		NetworkTimings timings = current.get();
+		if (timings != null) {
+			timings.nanos[phase.ordinal()] += elapsedNanos;
+		}
+	}
+
+	public static void newConnection() {
+		NetworkTimings timings = current.get();
+		if (timings != null) {
+			timings.newConnection = true;
+		}
+	}
+
+	/**
+	 * Marks the end of {@code TTFB}; the body download is timed from here.
+	 */
+	public static void headersReceived() {
+		NetworkTimings timings = current.get();
+		if (timings != null) {
+			timings.headersReceivedAt = System.nanoTime();
+		}
+	}
+
+	void bodyReadBy(long nanoTime) {
+		if (headersReceivedAt > 0) {
+			nanos[Phase.DOWNLOAD.ordinal()] = Math.max(0, nanoTime - headersReceivedAt);
+		}
+	}
+
+	public long getNanos(Phase phase) {
+		return nanos[phase.ordinal()];
+	}
+
+	public boolean isNewConnection() {
+		return newConnection;
+	}
+
+	// Formatted by hand: this runs once per request, and String.format would cost more than the request's hooks
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(112);
+		for (Phase phase : PHASES) {
+			long hundredths = (nanos[phase.ordinal()] + 5_000) / 10_000;
+			sb.append(LABELS[phase.ordinal()]).append(hundredths / 100).append('.');
+			long fraction = hundredths % 100;
+			sb.append(fraction < 10 ? "0" : "").append(fraction).append(' ');
+		}
+		return sb.append(newConnection ? "ms (new connection)" : "ms (reused)").toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import metrics.NetworkTimings.Phase;
+
+/**
+ * Suite-wide network phase distributions per endpoint, keyed like {@link LatencyRegistry}. Connection phases
+ * ({@code DNS}, {@code CONNECT}, {@code TLS}) are only recorded for requests that opened a connection, so their
+ * percentiles describe the cost of a new connection and {@link #getNewConnectionRate()} says how often it is paid.
+ */
+public class PhaseStats {
+
+	// 1 µs .. 1 hour at 3 significant digits
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+	private static final ConcurrentMap<String, PhaseStats> stats = new ConcurrentHashMap<>();
+
+	private final String endpoint;
+	private final ConcurrentHistogram[] phases = new ConcurrentHistogram[Phase.values().length];
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder newConnections = new LongAdder();
+
+	private PhaseStats(String endpoint) {
+		this.endpoint = endpoint;
+		for (int i = 0; i < phases.length; i++) {
+			phases[i] = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+		}
+	}
+
+	public static PhaseStats forEndpoint(String method, String path) {
+		String key = LatencyRegistry.endpointKey(method, path);
+		PhaseStats existing = stats.get(key);
+		return existing != null ? existing : stats.computeIfAbsent(key, PhaseStats::new);
+	}
+
+	public static Collection<PhaseStats> all() {
+		List<PhaseStats> sorted = new ArrayList<>(stats.values());
+		sorted.sort(Comparator.comparing(PhaseStats::getEndpoint));
+		return sorted;
+	}
+
+	public static void reset() {
+		stats.clear();
+	}
+
+	void record(NetworkTimings timings) {
+		requests.increment();
+		boolean opened = timings.isNewConnection();
+		if (opened) {
+			newConnections.increment();
+		}
+		for (Phase phase : Phase.values()) {
+			boolean connectionPhase = phase == Phase.DNS || phase == Phase.CONNECT || phase == Phase.TLS;
+			if (opened || !connectionPhase) {
+				phases[phase.ordinal()].recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(timings.getNanos(phase)),
+						HIGHEST_TRACKABLE_MICROS));
+			}
+		}
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	public long getNewConnections() {
+		return newConnections.sum();
+	}
+
+	public double getNewConnectionRate() {
+		long count = getRequests();
+		return count == 0 ? 0.0 : (double) getNewConnections() / count;
+	}
+
+	public double getPercentileMillis(Phase phase, double percentile) {
+		ConcurrentHistogram histogram = phases[phase.ordinal()];
+		return histogram.getTotalCount() == 0 ? 0.0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	/**
+	 * p50 and p99 of every phase per endpoint, as a text table.
+	 */
+	public static String summarize() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-28s %4s %9s %9s", "Endpoint", "", "Requests", "New conn"));
+		for (Phase phase : Phase.values()) {
+			sb.append(String.format(" %9s", phase.name().toLowerCase() + " ms"));
+		}
+		sb.append('\n');
+		for (PhaseStats endpointStats : all()) {
+			for (double percentile : new double[] { 50, 99 }) {
+				boolean first = percentile == 50;
+				sb.append(String.format("%-28s %4s %9s %9s", first ? endpointStats.getEndpoint() : "",
+						"p" + (int) percentile, first ? String.valueOf(endpointStats.getRequests()) : "",
+						first ? String.format("%.1f%%", endpointStats.getNewConnectionRate() * 100) : ""));
+				for (Phase phase : Phase.values()) {
+					sb.append(String.format(" %9.2f", endpointStats.getPercentileMillis(phase, percentile)));
+				}
+				sb.append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * One line per endpoint: the new-connection rate and the p50 of every phase.
+	 */
+	public static String describe() {
+		StringBuilder sb = new StringBuilder();
+		for (PhaseStats endpointStats : all()) {
+			if (sb.length() > 0) {
+				sb.append("; ");
+			}
+			sb.append(String.format("%s newConn=%.1f%%", endpointStats.getEndpoint(),
+					endpointStats.getNewConnectionRate() * 100));
+			for (Phase phase : Phase.values()) {
+				sb.append(String.format(" %s=%.2f", phase.name().toLowerCase(), endpointStats.getPercentileMillis(phase, 50)));
+			}
+			sb.append("ms");
+		}
+		return sb.length() == 0 ? "no requests" : sb.toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import config.ConfigManager;
+
+/**
+ * Compares a current latency distribution against its baseline with one of two tests, picked by
+ * {@code perf.regression.test}:
+ * <ul>
+ * <li>{@code percentile} fails when any of {@code perf.regression.percentiles} is more than
+ * {@code perf.regression.tolerance} slower than the baseline.</li>
+ * <li>{@code ks} runs a two-sample Kolmogorov-Smirnov test at {@code perf.regression.alpha} and fails when the
+ * distributions differ significantly and the median got slower.</li>
+ * </ul>
+ * A throughput drop beyond {@code perf.regression.throughput.tolerance} also fails; a negative value turns that
+ * check off.
+ */
+public class RegressionCheck {
+
+	private final String test;
+	private final double[] percentiles;
+	private final double tolerance;
+	private final double alpha;
+	private final double throughputTolerance;
+	private final long minSamples;
+
+	public RegressionCheck(String test, double[] percentiles, double tolerance, double alpha,
+			double throughputTolerance, long minSamples) {
+		if (!"percentile".equals(test) && !"ks".equals(test)) {
+			throw new IllegalArgumentException("Unknown perf.regression.test: '" + test + "'");
+		}
+		this.test = test;
+		this.percentiles = percentiles;
+		this.tolerance = tolerance;
+		this.alpha = alpha;
+		this.throughputTolerance = throughputTolerance;
+		this.minSamples = minSamples;
+	}
+
+	public static RegressionCheck fromConfig() {
+		String[] parts = ConfigManager.getOrDefault("perf.regression.percentiles", "50,95,99").split(",");
+		double[] percentiles = new double[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			percentiles[i] = Double.parseDouble(parts[i].trim());
+		}
+		return new RegressionCheck(ConfigManager.getOrDefault("perf.regression.test", "percentile"), percentiles,
+				ConfigManager.getDoubleOrDefault("perf.regression.tolerance", 0.20),
+				ConfigManager.getDoubleOrDefault("perf.regression.alpha", 0.01),
+				ConfigManager.getDoubleOrDefault("perf.regression.throughput.tolerance", -1),
+				ConfigManager.getIntOrDefault("perf.regression.min.samples", 20));
+	}
+
+	public Result compare(String endpoint, Histogram baseline, Histogram current) {
+		List<String> lines = new ArrayList<>();
+		List<String> regressions = new ArrayList<>();
+
+		for (double p : percentiles) {
+			double before = baseline.getValueAtPercentile(p) / 1000.0;
+			double after = current.getValueAtPercentile(p) / 1000.0;
+			double change = before == 0 ? 0 : (after - before) / before;
+			lines.add(String.format("p%s: %.2fms → %.2fms (%+.1f%%)", trim(p), before, after, change * 100));
+			if ("percentile".equals(test) && change > tolerance) {
+				regressions.add(String.format("p%s slower by %.1f%% (tolerance %.1f%%)", trim(p), change * 100,
+						tolerance * 100));
+			}
+		}
+
+		if ("ks".equals(test)) {
+			double d = ksStatistic(baseline, current);
+			double critical = ksCritical(baseline.getTotalCount(), current.getTotalCount());
+			boolean slower = current.getValueAtPercentile(50) > baseline.getValueAtPercentile(50);
+			lines.add(String.format("KS D=%.4f, critical=%.4f at alpha=%s", d, critical, alpha));
+			if (d > critical && slower) {
+				regressions.add(String.format("distribution shifted slower (KS D=%.4f > %.4f)", d, critical));
+			}
+		}
+
+		double throughputBefore = LatencyBaseline.throughputPerSecond(baseline);
+		double throughputAfter = LatencyBaseline.throughputPerSecond(current);
+		double throughputChange = throughputBefore == 0 ? 0 : (throughputAfter - throughputBefore) / throughputBefore;
+		lines.add(String.format("throughput: %.2f/s → %.2f/s (%+.1f%%)", throughputBefore, throughputAfter,
+				throughputChange * 100));
+		if (throughputTolerance >= 0 && -throughputChange > throughputTolerance) {
+			regressions.add(String.format("throughput dropped by %.1f%% (tolerance %.1f%%)", -throughputChange * 100,
+					throughputTolerance * 100));
+		}
+
+		lines.add(0, String.format("%s: %d → %d samples", endpoint, baseline.getTotalCount(), current.getTotalCount()));
+		boolean enoughSamples = baseline.getTotalCount() >= minSamples && current.getTotalCount() >= minSamples;
+		return new Result(String.join("\n", lines), enoughSamples ? regressions : List.of(), enoughSamples);
+	}
+
+	static double ksStatistic(Histogram a, Histogram b) {
+		Histogram merged = a.copy();
+		merged.add(b);
+		double n = a.getTotalCount();
+		double m = b.getTotalCount();
+		long cumulativeA = 0;
+		long cumulativeB = 0;
+		double max = 0;
+		for (HistogramIterationValue value : merged.recordedValues()) {
+			long v = value.getValueIteratedTo();
+			cumulativeA += a.getCountAtValue(v);
+			cumulativeB += b.getCountAtValue(v);
+			max = Math.max(max, Math.abs(cumulativeA / n - cumulativeB / m));
+		}
+		return max;
+	}
+
+	private double ksCritical(long n, long m) {
+		double c = Math.sqrt(-Math.log(alpha / 2) / 2);
+		return c * Math.sqrt((double) (n + m) / ((double) n * m));
+	}
+
+	private static String trim(double percentile) {
+		return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+	}
+
+	public static class Result {
+
+		private final String summary;
+		private final List<String> regressions;
+		private final boolean conclusive;
+
+		Result(String summary, List<String> regressions, boolean conclusive) {
+			this.summary = summary;
+			this.regressions = regressions;
+			this.conclusive = conclusive;
+		}
+
+		public String getSummary() {
+			return summary;
+		}
+
+		public List<String> getRegressions() {
+			return regressions;
+		}
+
+		public boolean isRegression() {
+			return !regressions.isEmpty();
+		}
+
+		public boolean isConclusive() {
+			return conclusive;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Hand-written streaming (de)serializers for the models, so Jackson never introspects them. Field names are
+ * pre-encoded and null fields are skipped, matching the NON_NULL inclusion used everywhere else.
+ * <p>
+ * {@link #toJsonBytes(Post)} and {@link #toJsonBytes(PatchPostRequest)} encode without an ObjectMapper into a
+ * per-thread buffer that is reused across calls.
+ */
+public final class ModelSerializers {
+
+	private static final SerializableString ID = new SerializedString("id");
+	private static final SerializableString USER_ID = new SerializedString("userId");
+	private static final SerializableString TITLE = new SerializedString("title");
+	private static final SerializableString BODY = new SerializedString("body");
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+	private static final ThreadLocal<ByteArrayBuilder> BUFFER = ThreadLocal.withInitial(() -> new ByteArrayBuilder(512));
+
+	private ModelSerializers() {
+	}
+
+	public static byte[] toJsonBytes(Post post) {
+		ByteArrayBuilder buffer = BUFFER.get();
+		try (JsonGenerator gen = FACTORY.createGenerator(buffer)) {
+			writePost(post, gen);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return drain(buffer);
+	}
+
+	public static byte[] toJsonBytes(PatchPostRequest patch) {
+		ByteArrayBuilder buffer = BUFFER.get();
+		try (JsonGenerator gen = FACTORY.createGenerator(buffer)) {
+			writePatch(patch, gen);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return drain(buffer);
+	}
+
+	private static byte[] drain(ByteArrayBuilder buffer) {
+		byte[] json = buffer.toByteArray();
+		buffer.reset();
+		return json;
+	}
+
+	static void writePost(Post post, JsonGenerator gen) throws IOException {
+		gen.writeStartObject();
+		if (post.getId() != null) {
+			gen.writeFieldName(ID);
+			gen.writeNumber(post.getId().intValue());
+		}
+		gen.writeFieldName(USER_ID);
+		gen.writeNumber(post.getUserId());
+		writeString(gen, TITLE, post.getTitle());
+		writeString(gen, BODY, post.getBody());
+		gen.writeEndObject();
+	}
+
+	static void writePatch(PatchPostRequest patch, JsonGenerator gen) throws IOException {
+		gen.writeStartObject();
+		writeString(gen, TITLE, patch.getTitle());
+		writeString(gen, BODY, patch.getBody());
+		gen.writeEndObject();
+	}
+
+	private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+		if (value != null) {
+			gen.writeFieldName(name);
+			gen.writeString(value);
+		}
+	}
+
+	// Leaves the parser on the first field name, or returns null when the value is not an object
+	private static JsonToken enterObject(JsonParser p) throws IOException {
+		JsonToken token = p.currentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = p.nextToken();
+		}
+		return token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT ? token : null;
+	}
+
+	private static String text(JsonParser p) throws IOException {
+		return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+	}
+
+	public static class PostSerializer extends JsonSerializer<Post> {
+
+		@Override
+		public void serialize(Post value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+			writePost(value, gen);
+		}
+	}
+
+	public static class PatchPostRequestSerializer extends JsonSerializer<PatchPostRequest> {
+
+		@Override
+		public void serialize(PatchPostRequest value, JsonGenerator gen, SerializerProvider serializers)
+				throws IOException {
+			writePatch(value, gen);
+		}
+	}
+
+	public static class PostDeserializer extends JsonDeserializer<Post> {
+
+		@Override
+		public Post deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			JsonToken token = enterObject(p);
+			if (token == null) {
+				return (Post) ctxt.handleUnexpectedToken(Post.class, p);
+			}
+			Integer id = null;
+			int userId = 0;
+			String title = null;
+			String body = null;
+			for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+				String field = p.getCurrentName();
+				p.nextToken();
+				switch (field) {
+				case "id":
+					id = p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsInt();
+					break;
+				case "userId":
+					userId = p.getValueAsInt();
+					break;
+				case "title":
+					title = text(p);
+					break;
+				case "body":
+					body = text(p);
+					break;
+				default:
+					p.skipChildren();
+					break;
+				}
+			}
+			return new Post(id, userId, title, body);
+		}
+	}
+
+	public static class PatchPostRequestDeserializer extends JsonDeserializer<PatchPostRequest> {
+
+		@Override
+		public PatchPostRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			JsonToken token = enterObject(p);
+			if (token == null) {
+				return (PatchPostRequest) ctxt.handleUnexpectedToken(PatchPostRequest.class, p);
+			}
+			String title = null;
+			String body = null;
+			for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+				String field = p.getCurrentName();
+				p.nextToken();
+				switch (field) {
+				case "title":
+					title = text(p);
+					break;
+				case "body":
+					body = text(p);
+					break;
+				default:
+					p.skipChildren();
+					break;
+				}
+			}
+			return new PatchPostRequest(title, body);
+		}
+	}
+}
\ No newline at end of file
@@ -1,15 +1,21 @@
 package models;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Objects;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-public class PatchPostRequest {
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-	private String title;
-	private String body;
+/**
+ * Immutable partial update; a null field is left out of the payload.
+ */
+@JsonSerialize(using = ModelSerializers.PatchPostRequestSerializer.class)
+@JsonDeserialize(using = ModelSerializers.PatchPostRequestDeserializer.class)
+public final class PatchPostRequest {
 
-	public PatchPostRequest() {
-	}
+	private final String title;
+	private final String body;
+
+	private String string;
 
 	public PatchPostRequest(String title, String body) {
 		this.title = title;
@@ -20,20 +26,34 @@ public class PatchPostRequest {
 		return title;
 	}
 
-	public void setTitle(String title) {
-		this.title = title;
-	}
-
 	public String getBody() {
 		return body;
 	}
 
-	public void setBody(String body) {
-		this.body = body;
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof PatchPostRequest)) {
+			return false;
+		}
+		PatchPostRequest other = (PatchPostRequest) o;
+		return Objects.equals(title, other.title) && Objects.equals(body, other.body);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(title, body);
 	}
 
 	@Override
 	public String toString() {
-		return "PatchPostRequest{" + "title='" + title + '\'' + ", body='" + body + '\'' + '}';
+		String s = string;
+		if (s == null) {
+			s = "PatchPostRequest{" + "title='" + title + '\'' + ", body='" + body + '\'' + '}';
+			string = s;
+		}
+		return s;
 	}
 }
\ No newline at end of file
@@ -1,27 +1,36 @@
 package models;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Objects;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-public class Post {
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-	private Integer id;
-	private Integer userId;
-	private String title;
-	private String body;
+/**
+ * Immutable post. {@code id} stays boxed because create requests leave it out; a missing {@code userId} reads
+ * as 0. Serialized by {@link ModelSerializers} without bean reflection.
+ */
+@JsonSerialize(using = ModelSerializers.PostSerializer.class)
+@JsonDeserialize(using = ModelSerializers.PostDeserializer.class)
+public final class Post {
 
-	public Post() {
-	}
+	private final Integer id;
+	private final int userId;
+	private final String title;
+	private final String body;
+
+	private String string;
 
 	public Post(int userId, String title, String body) {
-		this.userId = userId;
-		this.title = title;
-		this.body = body;
+		this(null, userId, title, body);
 	}
 
 	public Post(int userId, int id, String title, String body) {
-		this.userId = userId;
+		this(Integer.valueOf(id), userId, title, body);
+	}
+
+	public Post(Integer id, int userId, String title, String body) {
 		this.id = id;
+		this.userId = userId;
 		this.title = title;
 		this.body = body;
 	}
@@ -30,37 +39,49 @@ public class Post {
 		return id;
 	}
 
-	public void setId(Integer id) {
-		this.id = id;
-	}
-
-	public Integer getUserId() {
+	public int getUserId() {
 		return userId;
 	}
 
-	public void setUserId(Integer userId) {
-		this.userId = userId;
-	}
-
 	public String getTitle() {
 		return title;
 	}
 
-	public void setTitle(String title) {
-		this.title = title;
-	}
-
 	public String getBody() {
 		return body;
 	}
 
-	public void setBody(String body) {
-		this.body = body;
+	public Post withId(Integer id) {
+		return new Post(id, userId, title, body);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Post)) {
+			return false;
+		}
+		Post other = (Post) o;
+		return userId == other.userId && Objects.equals(id, other.id) && Objects.equals(title, other.title)
+				&& Objects.equals(body, other.body);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, userId, title, body);
 	}
 
+	// Built on first use only, so payloads that are never logged never pay for it
 	@Override
 	public String toString() {
-		return "Post{" + "id=" + id + ", userId=" + userId + ", title='" + title + '\'' + ", body='" + body + '\''
-				+ '}';
+		String s = string;
+		if (s == null) {
+			s = "Post{" + "id=" + id + ", userId=" + userId + ", title='" + title + '\'' + ", body='" + body + '\''
+					+ '}';
+			string = s;
+		}
+		return s;
 	}
 }
\ No newline at end of file
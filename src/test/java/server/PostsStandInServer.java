@@ -0,0 +1,341 @@
+package server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import config.ConfigManager;
+import utils.LoggerUtils;
+import utils.ObjectMappers;
+
+/**
+ * In-process stand-in for the JSONPlaceholder {@code /posts} API, built on the JDK's selector-based
+ * {@link HttpServer}. Like the real service it never persists writes: POST answers with the next id, PUT and
+ * PATCH echo the merged post, DELETE always answers {@code {}}.
+ * <p>
+ * The dataset is generated once, checked against {@code schemas/getPostSchema.json} and kept as pre-encoded
+ * bytes, so GETs do no JSON work. {@code standin.latency.ms} and {@code standin.latency.jitter.ms} add a delay
+ * before every response; delayed responses wait on a timer rather than on a {@code standin.threads} worker, so
+ * injected latency does not cap throughput at {@code standin.threads / latency}.
+ */
+public class PostsStandInServer {
+
+	private static final Logger log = LoggerUtils.getLogger(PostsStandInServer.class);
+
+	private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+	private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+	private static final String SCHEMA = "resource:/schemas/getPostSchema.json";
+
+	private static volatile PostsStandInServer instance;
+
+	static {
+		// The JDK server writes headers and body in separate segments; without TCP_NODELAY each response waits
+		// out the client's delayed ACK (~40 ms on Linux). Read once, when the server classes first load.
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final ObjectMapper mapper = ObjectMappers.getMapper();
+	private final List<Map<String, Object>> posts;
+	private final List<byte[]> encodedPosts;
+	private final byte[] encodedAll;
+	private final long latencyMs;
+	private final long jitterMs;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final ScheduledExecutorService delayer;
+
+	private PostsStandInServer(int port, int datasetSize, long latencyMs, long jitterMs, int threads) {
+		this.latencyMs = latencyMs;
+		this.jitterMs = jitterMs;
+		this.posts = generatePosts(datasetSize);
+		this.encodedPosts = new ArrayList<>(datasetSize);
+		for (Map<String, Object> post : posts) {
+			encodedPosts.add(encode(post));
+		}
+		this.encodedAll = joinArray(encodedPosts);
+		validateAgainstSchema();
+
+		try {
+			server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot start stand-in server on port " + port, e);
+		}
+		executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "standin-http");
+			t.setDaemon(true);
+			return t;
+		});
+		delayer = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+			Thread t = new Thread(r, "standin-delay");
+			t.setDaemon(true);
+			return t;
+		});
+		server.setExecutor(executor);
+		server.createContext("/posts", this::handle);
+		server.start();
+	}
+
+	public static PostsStandInServer start() {
+		synchronized (PostsStandInServer.class) {
+			if (instance == null) {
+				instance = new PostsStandInServer(ConfigManager.getIntOrDefault("standin.port", 0),
+						ConfigManager.getIntOrDefault("standin.dataset.size", 100),
+						ConfigManager.getIntOrDefault("standin.latency.ms", 0),
+						ConfigManager.getIntOrDefault("standin.latency.jitter.ms", 0),
+						ConfigManager.getIntOrDefault("standin.threads", 200));
+				log.info("Stand-in /posts server listening on {} with {} posts", instance.getBaseUrl(),
+						instance.posts.size());
+			}
+			return instance;
+		}
+	}
+
+	public static void stop() {
+		synchronized (PostsStandInServer.class) {
+			if (instance != null) {
+				instance.server.stop(0);
+				instance.executor.shutdownNow();
+				instance.delayer.shutdownNow();
+				instance = null;
+			}
+		}
+	}
+
+	public String getBaseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange) {
+		Reply reply;
+		try {
+			reply = route(exchange);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Stand-in failed to handle {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(),
+					e.toString());
+			reply = new Reply(500, EMPTY_OBJECT);
+		}
+		long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+		if (delay <= 0) {
+			respond(exchange, reply);
+			return;
+		}
+		Reply delayed = reply;
+		try {
+			delayer.schedule(() -> respond(exchange, delayed), delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// Stopping: nobody is waiting for the delay any more
+			exchange.close();
+		}
+	}
+
+	private Reply route(HttpExchange exchange) throws IOException {
+		String[] segments = exchange.getRequestURI().getPath().split("/");
+		// "/posts" -> ["", "posts"], "/posts/1" -> ["", "posts", "1"]
+		Integer id = segments.length == 3 ? parseId(segments[2]) : null;
+		if (segments.length > 3 || (segments.length == 3 && id == null)) {
+			return new Reply(404, EMPTY_OBJECT);
+		}
+
+		switch (exchange.getRequestMethod()) {
+		case "GET":
+			if (id == null) {
+				return new Reply(200, list(exchange.getRequestURI()));
+			}
+			return exists(id) ? new Reply(200, encodedPosts.get(id - 1)) : new Reply(404, EMPTY_OBJECT);
+		case "POST":
+			if (id != null) {
+				return new Reply(404, EMPTY_OBJECT);
+			}
+			Map<String, Object> created = readBody(exchange);
+			created.put("id", posts.size() + 1);
+			return new Reply(201, encode(created));
+		case "PUT":
+			if (id == null || !exists(id)) {
+				return new Reply(id == null ? 404 : 500, EMPTY_OBJECT);
+			}
+			Map<String, Object> replaced = readBody(exchange);
+			replaced.put("id", id);
+			return new Reply(200, encode(replaced));
+		case "PATCH":
+			if (id == null || !exists(id)) {
+				return new Reply(404, EMPTY_OBJECT);
+			}
+			Map<String, Object> patched = new LinkedHashMap<>(posts.get(id - 1));
+			patched.putAll(readBody(exchange));
+			return new Reply(200, encode(patched));
+		case "DELETE":
+			return new Reply(id == null ? 404 : 200, EMPTY_OBJECT);
+		default:
+			return new Reply(405, EMPTY_OBJECT);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, Reply reply) {
+		try {
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(reply.status, reply.body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(reply.body);
+			}
+		} catch (IOException | RuntimeException e) {
+			log.warn("Stand-in failed to answer {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(),
+					e.toString());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	// GET /posts?userId=1 style filters match on any top-level field, as on JSONPlaceholder
+	private byte[] list(URI uri) {
+		String query = uri.getRawQuery();
+		if (query == null || query.isEmpty()) {
+			return encodedAll;
+		}
+		Map<String, String> filters = new LinkedHashMap<>();
+		for (String pair : query.split("&")) {
+			int eq = pair.indexOf('=');
+			if (eq > 0) {
+				filters.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+			}
+		}
+		List<byte[]> matches = new ArrayList<>();
+		for (int i = 0; i < posts.size(); i++) {
+			if (matches(posts.get(i), filters)) {
+				matches.add(encodedPosts.get(i));
+			}
+		}
+		return joinArray(matches);
+	}
+
+	private static boolean matches(Map<String, Object> post, Map<String, String> filters) {
+		for (Map.Entry<String, String> filter : filters.entrySet()) {
+			if (!filter.getValue().equals(String.valueOf(post.get(filter.getKey())))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean exists(int id) {
+		return id >= 1 && id <= posts.size();
+	}
+
+	private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+		try (InputStream body = exchange.getRequestBody()) {
+			byte[] bytes = body.readAllBytes();
+			if (bytes.length == 0) {
+				return new LinkedHashMap<>();
+			}
+			return mapper.readValue(bytes, new TypeReference<LinkedHashMap<String, Object>>() {
+			});
+		}
+	}
+
+	private static List<Map<String, Object>> generatePosts(int size) {
+		List<Map<String, Object>> generated = new ArrayList<>(size);
+		for (int id = 1; id <= size; id++) {
+			Map<String, Object> post = new LinkedHashMap<>();
+			post.put("userId", (id - 1) / 10 + 1);
+			post.put("id", id);
+			post.put("title", "stand-in post " + id);
+			post.put("body", "body of stand-in post " + id + "\nserved from memory");
+			generated.add(post);
+		}
+		return generated;
+	}
+
+	private void validateAgainstSchema() {
+		try {
+			JsonSchema schema = JsonSchemaFactory.byDefault().getJsonSchema(SCHEMA);
+			for (int i = 0; i < posts.size(); i++) {
+				JsonNode node = mapper.readTree(encodedPosts.get(i));
+				ProcessingReport report = schema.validate(node);
+				if (!report.isSuccess()) {
+					throw new IllegalStateException("Stand-in post " + (i + 1) + " violates " + SCHEMA + ": " + report);
+				}
+			}
+		} catch (ProcessingException | IOException e) {
+			throw new IllegalStateException("Cannot validate stand-in dataset against " + SCHEMA, e);
+		}
+	}
+
+	private byte[] encode(Object value) {
+		try {
+			return mapper.writeValueAsBytes(value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static byte[] joinArray(List<byte[]> elements) {
+		int length = 2 + Math.max(0, elements.size() - 1);
+		for (byte[] element : elements) {
+			length += element.length;
+		}
+		byte[] joined = new byte[length];
+		int pos = 0;
+		joined[pos++] = '[';
+		for (int i = 0; i < elements.size(); i++) {
+			if (i > 0) {
+				joined[pos++] = ',';
+			}
+			byte[] element = elements.get(i);
+			System.arraycopy(element, 0, joined, pos, element.length);
+			pos += element.length;
+		}
+		joined[pos] = ']';
+		return joined;
+	}
+
+	private static Integer parseId(String segment) {
+		try {
+			return Integer.valueOf(segment);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static String decode(String value) {
+		return URLDecoder.decode(value, StandardCharsets.UTF_8);
+	}
+
+	private static class Reply {
+
+		private final int status;
+		private final byte[] body;
+
+		Reply(int status, byte[] body) {
+			this.status = status;
+			this.body = body;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,513 @@
+package shard;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import config.ConfigManager;
+import load.LoadRunner;
+import metrics.LatencyBaseline;
+import metrics.LatencyRegistry;
+import utils.LoggerUtils;
+import utils.StreamingReporter;
+
+/**
+ * Runs the {@code shard.suite} classes across several JVMs, one per {@code shard.workers} entry: {@code local}
+ * starts a process on this machine, anything else is a command prefix that starts {@code java} on another node
+ * (e.g. {@code ssh qa-node-1}), using {@code shard.remote.java} and {@code shard.remote.classpath} there. The
+ * prefix gets the remote command as one shell-quoted line that first changes to {@code shard.remote.dir}, as
+ * {@code ssh} expects; other launchers need a shell of their own ({@code docker exec node sh -c}).
+ * <p>
+ * Classes are spread by their last run's duration (see {@link ShardPlan}): each run writes what it measured to
+ * {@code shard-durations.properties} in {@code shard.work.dir} and balances on that file when it is there, on the
+ * committed {@code shard.durations.file} otherwise. {@code -Dshard.durations.update=true} also rewrites the
+ * committed file. The {@code shard.row.methods} test methods run on every
+ * worker, each over its {@code shard.index} slice of the data file. Workers stream their results, report
+ * events and latency histograms back over stdout ({@link ShardWorker}), and their logs over stderr; the
+ * coordinator merges the events into one report and the histograms into {@link LatencyRegistry}, then runs the
+ * {@code shard.after.merge} classes (latency budgets and regression checks) itself against the merged stats.
+ * Each worker's own output is kept in {@code shard.work.dir}.
+ */
+public class ShardCoordinator {
+
+	private static final Logger log = LoggerUtils.getLogger(ShardCoordinator.class);
+
+	// Keeps test ids from different workers apart in the merged report events
+	private static final long TEST_ID_STRIDE = 1_000_000_000L;
+
+	private final List<String> workers;
+	private final Path suiteFile;
+	private final Set<String> afterMerge;
+	private final Set<String> rowMethods;
+	private final Path durationsFile;
+	private final boolean updateDurations;
+	private final Path workDir;
+	private boolean failed;
+
+	public ShardCoordinator(List<String> workers, Path suiteFile, Set<String> afterMerge, Set<String> rowMethods,
+			Path durationsFile, boolean updateDurations, Path workDir) {
+		if (workers.isEmpty()) {
+			throw new IllegalArgumentException("shard.workers must list at least one worker");
+		}
+		this.workers = workers;
+		this.suiteFile = suiteFile;
+		this.afterMerge = afterMerge;
+		this.rowMethods = rowMethods;
+		this.durationsFile = durationsFile;
+		this.updateDurations = updateDurations;
+		this.workDir = workDir;
+	}
+
+	public static ShardCoordinator fromConfig() {
+		return new ShardCoordinator(split(ConfigManager.getOrDefault("shard.workers", "local;local"), ";"),
+				Paths.get(ConfigManager.getOrDefault("shard.suite", "testng.xml")),
+				new LinkedHashSet<>(split(ConfigManager.getOrDefault("shard.after.merge", ""), ",")),
+				new LinkedHashSet<>(split(ConfigManager.getOrDefault("shard.row.methods", ""), ",")),
+				Paths.get(ConfigManager.getOrDefault("shard.durations.file", "baselines/shard-durations.properties")),
+				Boolean.parseBoolean(ConfigManager.getOrDefault("shard.durations.update", "false")),
+				Paths.get(ConfigManager.getOrDefault("shard.work.dir", "target/shards")));
+	}
+
+	public static void main(String[] args) throws Exception {
+		ShardCoordinator coordinator = fromConfig();
+		String summary = coordinator.run();
+		log.info("Sharded run finished\n{}", summary);
+		LoadRunner.writeSummary("shard-summary.txt", summary);
+		if (coordinator.isFailed()) {
+			throw new IllegalStateException("Sharded run failed, see reports/shard-summary.txt");
+		}
+	}
+
+	/**
+	 * Runs the whole suite across the workers and returns a text summary.
+	 */
+	public String run() throws IOException, InterruptedException {
+		XmlSuite template = new Parser(suiteFile.toString()).parseToList().get(0);
+		List<String> classes = new ArrayList<>();
+		List<String> merged = new ArrayList<>();
+		for (XmlTest test : template.getTests()) {
+			for (XmlClass xmlClass : test.getXmlClasses()) {
+				(afterMerge.contains(xmlClass.getName()) ? merged : classes).add(xmlClass.getName());
+			}
+		}
+		Map<String, List<String>> rowSplit = rowSplitMethods(classes);
+		ShardPlan plan = ShardPlan.balance(classes, rowSplit, loadDurations(), workers.size());
+
+		// Created first: starting the reporter clears old segments, and worker events are written next to its own
+		StreamingReporter.getInstance();
+		Path eventsDir = Paths.get(ConfigManager.getOrDefault("report.events.dir", "reports/events"));
+		Files.createDirectories(eventsDir);
+		Files.createDirectories(workDir);
+		LatencyRegistry.reset();
+
+		List<WorkerRun> runs = new ArrayList<>();
+		for (int i = 0; i < workers.size(); i++) {
+			runs.add(new WorkerRun(i, plan.getSelectors(i), eventsDir));
+			log.info("Shard {} ({}): ~{}ms of {}", i, workers.get(i), plan.getExpectedMillis(i), plan.getSelectors(i));
+		}
+		ExecutorService readers = Executors.newFixedThreadPool(runs.size(), r -> {
+			Thread t = new Thread(r, "shard-reader");
+			t.setDaemon(true);
+			return t;
+		});
+		long start = System.nanoTime();
+		try {
+			List<Future<?>> pending = new ArrayList<>();
+			for (WorkerRun run : runs) {
+				Process process = start(run, plan.getWorkerCount());
+				pending.add(readers.submit(() -> run.consume(process)));
+			}
+			for (Future<?> future : pending) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					log.error("Shard reader failed", e.getCause());
+				}
+			}
+		} finally {
+			readers.shutdownNow();
+		}
+		long workersMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		for (WorkerRun run : runs) {
+			for (Map.Entry<String, Histogram> entry : LatencyBaseline.load(run.histogramLog).getHistograms()
+					.entrySet()) {
+				LatencyRegistry.merge(entry.getKey(), entry.getValue());
+			}
+		}
+		boolean mergedPassed = runAfterMerge(merged, template);
+		saveDurations(runs, rowSplit);
+		return summarize(runs, plan, workersMillis, mergedPassed);
+	}
+
+	private Process start(WorkerRun run, int workerCount) throws IOException {
+		String worker = workers.get(run.index);
+		boolean local = "local".equalsIgnoreCase(worker);
+		List<String> command = new ArrayList<>();
+		command.add(local ? Paths.get(System.getProperty("java.home"), "bin", "java").toString()
+				: ConfigManager.getOrDefault("shard.remote.java", "java"));
+		command.add("-cp");
+		command.add(local ? classpath() : ConfigManager.getOrDefault("shard.remote.classpath", classpath()));
+
+		Map<String, String> properties = new TreeMap<>();
+		for (String key : ConfigManager.keys()) {
+			String value = System.getProperty(key);
+			if (value != null) {
+				properties.put(key, value);
+			}
+		}
+		Path workerDir = workDir.resolve("worker-" + run.index);
+		properties.put("shard.index", String.valueOf(run.index));
+		properties.put("shard.count", String.valueOf(workerCount));
+		properties.put("shard.parallel", ConfigManager.getOrDefault("shard.parallel", "methods"));
+		properties.put("shard.thread.count", ConfigManager.getOrDefault("shard.thread.count", "4"));
+		properties.put("shard.dp.thread.count", ConfigManager.getOrDefault("shard.dp.thread.count", "3"));
+		properties.put("report.events.dir", workerDir.resolve("events").toString());
+		properties.put("report.html.file", workerDir.resolve("ExtentReport.html").toString());
+		properties.put("metrics.histogram.file", workerDir.resolve("latency.hlog").toString());
+		properties.put("perf.baseline.update", "false");
+		properties.put("log.console.target", "SYSTEM_ERR");
+		properties.forEach((key, value) -> command.add("-D" + key + "=" + value));
+
+		command.add(ShardWorker.class.getName());
+		command.addAll(run.selectors);
+		List<String> launch = local ? command : remoteCommand(worker, command);
+		log.debug("Starting shard {}: {}", run.index, launch);
+		return new ProcessBuilder(launch).redirectError(run.logFile.toFile()).start();
+	}
+
+	// ssh joins its arguments into one line for the remote shell, which starts in the home directory
+	private static List<String> remoteCommand(String prefix, List<String> command) {
+		StringBuilder line = new StringBuilder();
+		String dir = ConfigManager.getOrDefault("shard.remote.dir", "");
+		line.append("cd ").append(shellQuote(dir.isBlank() ? System.getProperty("user.dir") : dir)).append(" &&");
+		for (String arg : command) {
+			line.append(' ').append(shellQuote(arg));
+		}
+		List<String> remote = new ArrayList<>(split(prefix, " "));
+		remote.add(line.toString());
+		return remote;
+	}
+
+	private static String shellQuote(String arg) {
+		return "'" + arg.replace("'", "'\\''") + "'";
+	}
+
+	// exec:java runs us in a child class loader, so java.class.path is Maven's own
+	private static String classpath() {
+		ClassLoader loader = ShardCoordinator.class.getClassLoader();
+		if (!(loader instanceof URLClassLoader)) {
+			return System.getProperty("java.class.path");
+		}
+		List<String> entries = new ArrayList<>();
+		for (URL url : ((URLClassLoader) loader).getURLs()) {
+			try {
+				entries.add(Paths.get(url.toURI()).toString());
+			} catch (URISyntaxException e) {
+				entries.add(url.getPath());
+			}
+		}
+		return String.join(File.pathSeparator, entries);
+	}
+
+	private Map<String, List<String>> rowSplitMethods(List<String> classes) {
+		Map<String, List<String>> rowSplit = new LinkedHashMap<>();
+		if (rowMethods.isEmpty()) {
+			return rowSplit;
+		}
+		for (String className : classes) {
+			List<String> methods = new ArrayList<>();
+			try {
+				for (Method method : Class.forName(className).getMethods()) {
+					Test test = method.getAnnotation(Test.class);
+					if (test != null && rowMethods.contains(method.getName())) {
+						methods.add(method.getName());
+					}
+				}
+			} catch (ClassNotFoundException e) {
+				throw new IllegalArgumentException("Test class in " + suiteFile + " not found: " + className, e);
+			}
+			if (!methods.isEmpty()) {
+				methods.sort(null);
+				rowSplit.put(className, methods);
+			}
+		}
+		return rowSplit;
+	}
+
+	private boolean runAfterMerge(List<String> classes, XmlSuite template) {
+		if (classes.isEmpty()) {
+			LatencyRegistry.writeHistogramLog(Paths.get(ConfigManager.getOrDefault("metrics.histogram.file",
+					"reports/latency.hlog")));
+			StreamingReporter.getInstance().close();
+			return true;
+		}
+		// BaseTest's @AfterSuite writes the merged histogram log and renders the report with every worker's events
+		TestNG testng = new TestNG();
+		testng.setUseDefaultListeners(false);
+		testng.setXmlSuites(Collections.singletonList(ShardWorker.suite(template.getName() + " (merged)", classes,
+				template.getParallel().toString(), template.getThreadCount(),
+				template.getDataProviderThreadCount())));
+		testng.run();
+		return !testng.hasFailure();
+	}
+
+	// This checkout's last measurement, or the committed timings before the first sharded run
+	private Map<String, Long> loadDurations() {
+		Path measured = measuredDurationsFile();
+		return loadDurations(Files.isRegularFile(measured) ? measured : durationsFile);
+	}
+
+	private Path measuredDurationsFile() {
+		return workDir.resolve("shard-durations.properties");
+	}
+
+	private static Map<String, Long> loadDurations(Path file) {
+		Map<String, Long> durations = new LinkedHashMap<>();
+		if (!Files.isRegularFile(file)) {
+			return durations;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			properties.load(in);
+		} catch (IOException e) {
+			log.warn("Could not read {}, balancing by class count: {}", file, e.getMessage());
+			return durations;
+		}
+		for (String className : properties.stringPropertyNames()) {
+			try {
+				durations.put(className, Long.parseLong(properties.getProperty(className).trim()));
+			} catch (NumberFormatException e) {
+				log.warn("Ignoring duration of {} in {}: {}", className, file, e.getMessage());
+			}
+		}
+		return durations;
+	}
+
+	// Sum of test times per class, row-split methods left out since every worker shares them
+	private void saveDurations(List<WorkerRun> runs, Map<String, List<String>> rowSplit) {
+		Properties properties = new Properties();
+		loadDurations().forEach((className, millis) -> properties.setProperty(className, String.valueOf(millis)));
+		Map<String, Long> measured = new TreeMap<>();
+		for (WorkerRun run : runs) {
+			run.millisByMethod.forEach((method, millis) -> {
+				int hash = method.indexOf('#');
+				String className = method.substring(0, hash);
+				if (!rowSplit.getOrDefault(className, Collections.emptyList()).contains(method.substring(hash + 1))) {
+					measured.merge(className, millis, Long::sum);
+				}
+			});
+		}
+		measured.forEach((className, millis) -> properties.setProperty(className, String.valueOf(millis)));
+		storeDurations(properties, measuredDurationsFile());
+		if (updateDurations) {
+			storeDurations(properties, durationsFile);
+			log.info("Updated shard durations in {}", durationsFile);
+		}
+	}
+
+	private static void storeDurations(Properties properties, Path file) {
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			try (OutputStream out = Files.newOutputStream(file)) {
+				properties.store(out, "Test time per class in ms, for balancing shards");
+			}
+		} catch (IOException e) {
+			log.warn("Could not write {}: {}", file, e.getMessage());
+		}
+	}
+
+	private String summarize(List<WorkerRun> runs, ShardPlan plan, long workersMillis, boolean mergedPassed) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-6s %-20s %6s %6s %6s %11s %11s %s%n", "Shard", "Worker", "Passed", "Failed",
+				"Skipped", "Expected ms", "Actual ms", "Exit"));
+		failed = !mergedPassed;
+		for (WorkerRun run : runs) {
+			sb.append(String.format("%-6d %-20s %6d %6d %6d %11d %11d %s%n", run.index, workers.get(run.index),
+					run.passed, run.failed, run.skipped, plan.getExpectedMillis(run.index), run.elapsedMillis,
+					run.exitCode));
+			failed |= run.exitCode != 0;
+		}
+		sb.append(String.format("Workers took %dms; shard output in %s%n", workersMillis, workDir));
+		if (!afterMerge.isEmpty()) {
+			sb.append(String.format("Checks on merged stats (%s): %s%n", String.join(", ", afterMerge),
+					mergedPassed ? "passed" : "FAILED"));
+		}
+		for (WorkerRun run : runs) {
+			for (String failure : run.failures) {
+				sb.append("  FAILED ").append(failure).append('\n');
+			}
+			if (run.garbled > 0) {
+				sb.append("  shard ").append(run.index).append(": ").append(run.garbled)
+						.append(" unreadable result lines were skipped, see the coordinator log\n");
+			}
+			if (run.exitCode != 0 && run.failed == 0) {
+				sb.append("  FAILED shard ").append(run.index).append(": exited with ").append(run.exitCode)
+						.append(", see ").append(run.logFile).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	public boolean isFailed() {
+		return failed;
+	}
+
+	private static List<String> split(String value, String separator) {
+		List<String> parts = new ArrayList<>();
+		for (String part : value.split(separator)) {
+			if (!part.isBlank()) {
+				parts.add(part.trim());
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * One worker process: reads its stdout, writes its report events under the coordinator's events directory and
+	 * its histogram log to the shard directory. Its stderr, the worker's log, goes straight to {@code logFile}.
+	 */
+	private class WorkerRun {
+
+		private final int index;
+		private final List<String> selectors;
+		private final Path eventsFile;
+		private final Path histogramLog;
+		private final Path logFile;
+		private final Map<String, Long> millisByMethod = new LinkedHashMap<>();
+		private final List<String> failures = new ArrayList<>();
+		private int passed;
+		private int failed;
+		private int skipped;
+		private int garbled;
+		private int exitCode = -1;
+		private long elapsedMillis;
+
+		WorkerRun(int index, List<String> selectors, Path eventsDir) {
+			this.index = index;
+			this.selectors = selectors;
+			this.eventsFile = eventsDir.resolve(String.format("segment-shard%02d.jsonl", index));
+			this.histogramLog = workDir.resolve("worker-" + index + ".hlog");
+			this.logFile = workDir.resolve("worker-" + index + ".log");
+		}
+
+		void consume(Process process) {
+			long start = System.nanoTime();
+			JSONParser parser = new JSONParser();
+			try (BufferedReader in = new BufferedReader(
+					new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+					BufferedWriter events = Files.newBufferedWriter(eventsFile, StandardCharsets.UTF_8);
+					BufferedWriter histograms = Files.newBufferedWriter(histogramLog, StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = in.readLine()) != null) {
+					try {
+						accept(line, parser, events, histograms);
+					} catch (ParseException | RuntimeException e) {
+						// One bad line costs that line only; the summary counts them
+						garbled++;
+						log.warn("Shard {}: skipping unreadable line ({}): {}", index, e, line);
+					}
+				}
+				exitCode = process.waitFor();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Lost the output of shard " + index, e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				process.destroyForcibly();
+			} finally {
+				elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			}
+			log.info("Shard {} exited with {} after {}ms: {} passed, {} failed, {} skipped", index, exitCode,
+					elapsedMillis, passed, failed, skipped);
+		}
+
+		@SuppressWarnings("unchecked")
+		private void accept(String line, JSONParser parser, BufferedWriter events, BufferedWriter histograms)
+				throws IOException, ParseException {
+			if (!line.startsWith(ShardWorker.PREFIX)) {
+				throw new IllegalArgumentException("not a " + ShardWorker.PREFIX.trim() + " line");
+			}
+			int space = line.indexOf(' ', ShardWorker.PREFIX.length());
+			if (space < 0) {
+				throw new IllegalArgumentException("no payload");
+			}
+			String payload = line.substring(space + 1);
+			switch (line.substring(ShardWorker.PREFIX.length(), space)) {
+			case "result":
+				result((JSONObject) parser.parse(payload));
+				break;
+			case "event":
+				JSONObject event = (JSONObject) parser.parse(payload);
+				event.put("test", (index + 1) * TEST_ID_STRIDE + ((Number) event.get("test")).longValue());
+				events.write(event.toJSONString());
+				events.newLine();
+				break;
+			case "hist":
+				histograms.write(payload);
+				histograms.newLine();
+				break;
+			default:
+				throw new IllegalArgumentException("unknown message type");
+			}
+		}
+
+		private void result(JSONObject result) {
+			String test = result.get("class") + "#" + result.get("method");
+			millisByMethod.merge(test, ((Number) result.get("ms")).longValue(), Long::sum);
+			switch ((String) result.get("status")) {
+			case "PASS":
+				passed++;
+				break;
+			case "FAIL":
+				failed++;
+				failures.add("shard " + index + ": " + test + " - " + result.get("error"));
+				log.warn("Shard {}: {} FAILED: {}", index, test, result.get("error"));
+				break;
+			default:
+				skipped++;
+				break;
+			}
+		}
+	}
+}
\ No newline at end of file
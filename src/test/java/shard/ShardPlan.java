@@ -0,0 +1,97 @@
+package shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which test classes and methods each worker runs. Classes go whole to one worker, longest first to the least
+ * loaded one (by their historical duration), except the row-split methods, which every worker runs on its own
+ * {@code shard.index} slice of the data file.
+ */
+public class ShardPlan {
+
+	// Classes that never ran before are assumed to take as long as the average known one, or this
+	private static final long DEFAULT_CLASS_MILLIS = 1_000;
+
+	private final List<Map<String, List<String>>> workers;
+	private final long[] expectedMillis;
+
+	private ShardPlan(List<Map<String, List<String>>> workers, long[] expectedMillis) {
+		this.workers = workers;
+		this.expectedMillis = expectedMillis;
+	}
+
+	/**
+	 * Spreads {@code classes} (in suite order) over {@code workerCount} workers. {@code rowSplit} maps a class to
+	 * its row-split methods, and {@code durations} a class to its last run time in milliseconds.
+	 */
+	public static ShardPlan balance(List<String> classes, Map<String, List<String>> rowSplit,
+			Map<String, Long> durations, int workerCount) {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("At least one shard worker is needed");
+		}
+		long fallback = durations.isEmpty() ? DEFAULT_CLASS_MILLIS
+				: durations.values().stream().mapToLong(Long::longValue).sum() / durations.size();
+
+		List<String> longestFirst = new ArrayList<>(classes);
+		longestFirst.sort(Comparator.comparingLong((String c) -> durations.getOrDefault(c, fallback)).reversed());
+		long[] load = new long[workerCount];
+		Map<String, Integer> owner = new LinkedHashMap<>();
+		for (String testClass : longestFirst) {
+			int lightest = 0;
+			for (int i = 1; i < workerCount; i++) {
+				if (load[i] < load[lightest]) {
+					lightest = i;
+				}
+			}
+			owner.put(testClass, lightest);
+			load[lightest] += durations.getOrDefault(testClass, fallback);
+		}
+
+		List<Map<String, List<String>>> workers = new ArrayList<>(workerCount);
+		for (int i = 0; i < workerCount; i++) {
+			Map<String, List<String>> assigned = new LinkedHashMap<>();
+			for (String testClass : classes) {
+				List<String> split = rowSplit.getOrDefault(testClass, Collections.emptyList());
+				if (owner.get(testClass) == i) {
+					assigned.put(testClass, Collections.emptyList());
+				} else if (!split.isEmpty()) {
+					assigned.put(testClass, split);
+				}
+			}
+			workers.add(assigned);
+		}
+		return new ShardPlan(workers, load);
+	}
+
+	public int getWorkerCount() {
+		return workers.size();
+	}
+
+	/**
+	 * Class name to the methods worker {@code index} runs of it; an empty list means the whole class.
+	 */
+	public Map<String, List<String>> getAssignment(int index) {
+		return workers.get(index);
+	}
+
+	/**
+	 * The worker's assignment as {@link ShardWorker} arguments: {@code class} or {@code class#method,method}.
+	 */
+	public List<String> getSelectors(int index) {
+		List<String> selectors = new ArrayList<>();
+		for (Map.Entry<String, List<String>> entry : workers.get(index).entrySet()) {
+			selectors.add(entry.getValue().isEmpty() ? entry.getKey()
+					: entry.getKey() + "#" + String.join(",", entry.getValue()));
+		}
+		return selectors;
+	}
+
+	public long getExpectedMillis(int index) {
+		return expectedMillis[index];
+	}
+}
\ No newline at end of file
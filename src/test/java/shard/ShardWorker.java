@@ -0,0 +1,149 @@
+package shard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.simple.JSONObject;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import config.ConfigManager;
+
+/**
+ * One shard of a {@link ShardCoordinator} run, in its own JVM, possibly on another node. Runs the classes and
+ * methods given as arguments ({@code class} or {@code class#method,method}) with the coordinator's
+ * {@code shard.parallel}, {@code shard.thread.count} and {@code shard.dp.thread.count}, and reports back over
+ * stdout, so nothing but the process's output has to travel. Stdout carries only these lines: {@code System.out}
+ * is pointed at stderr, and the coordinator starts workers with {@code -Dlog.console.target=SYSTEM_ERR} so
+ * console logging goes there too.
+ * <ul>
+ * <li>{@code ##shard result {...}} as each test finishes</li>
+ * <li>{@code ##shard event {...}} for every report event, once the suite is done</li>
+ * <li>{@code ##shard hist ...} for every line of its latency histogram log</li>
+ * </ul>
+ * The exit code is TestNG's.
+ */
+public class ShardWorker {
+
+	static final String PREFIX = "##shard ";
+
+	private static final PrintStream out = System.out;
+
+	public static void main(String[] args) throws IOException {
+		System.setOut(System.err);
+		XmlSuite suite = suite("Shard " + ConfigManager.getOrDefault("shard.index", "0"), Arrays.asList(args),
+				ConfigManager.getOrDefault("shard.parallel", "methods"),
+				ConfigManager.getIntOrDefault("shard.thread.count", 4),
+				ConfigManager.getIntOrDefault("shard.dp.thread.count", 3));
+		TestNG testng = new TestNG();
+		testng.setUseDefaultListeners(false);
+		testng.setXmlSuites(Collections.singletonList(suite));
+		testng.addListener(new ResultStreamer());
+		testng.run();
+
+		streamEvents(Paths.get(ConfigManager.getOrDefault("report.events.dir", "reports/events")));
+		streamLines("hist", Paths.get(ConfigManager.get("metrics.histogram.file")));
+		out.flush();
+		System.exit(testng.getStatus());
+	}
+
+	/**
+	 * One {@code <test>} per class, in order, as in {@code testng.xml}.
+	 */
+	static XmlSuite suite(String name, List<String> selectors, String parallel, int threads, int dataProviderThreads) {
+		XmlSuite suite = new XmlSuite();
+		suite.setName(name);
+		suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+		suite.setThreadCount(threads);
+		suite.setDataProviderThreadCount(dataProviderThreads);
+		for (String selector : selectors) {
+			int hash = selector.indexOf('#');
+			String className = hash < 0 ? selector : selector.substring(0, hash);
+			XmlTest test = new XmlTest(suite);
+			test.setName(className.substring(className.lastIndexOf('.') + 1));
+			test.setPreserveOrder(true);
+			XmlClass xmlClass = new XmlClass(className);
+			if (hash >= 0) {
+				List<XmlInclude> includes = new ArrayList<>();
+				for (String method : selector.substring(hash + 1).split(",")) {
+					includes.add(new XmlInclude(method));
+				}
+				xmlClass.setIncludedMethods(includes);
+			}
+			test.setXmlClasses(Collections.singletonList(xmlClass));
+		}
+		return suite;
+	}
+
+	private static void streamEvents(Path eventsDir) throws IOException {
+		if (!Files.isDirectory(eventsDir)) {
+			return;
+		}
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(eventsDir, "segment-*.jsonl")) {
+			stream.forEach(segments::add);
+		}
+		segments.sort(null);
+		for (Path segment : segments) {
+			streamLines("event", segment);
+		}
+	}
+
+	private static void streamLines(String type, Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				out.println(PREFIX + type + " " + line);
+			}
+		}
+	}
+
+	private static class ResultStreamer implements ITestListener {
+
+		@Override
+		public void onTestSuccess(ITestResult result) {
+			send(result, "PASS");
+		}
+
+		@Override
+		public void onTestFailure(ITestResult result) {
+			send(result, "FAIL");
+		}
+
+		@Override
+		public void onTestSkipped(ITestResult result) {
+			send(result, "SKIP");
+		}
+
+		@SuppressWarnings("unchecked")
+		private void send(ITestResult result, String status) {
+			JSONObject json = new JSONObject();
+			json.put("class", result.getTestClass().getName());
+			json.put("method", result.getMethod().getMethodName());
+			json.put("status", status);
+			json.put("ms", Math.max(0, result.getEndMillis() - result.getStartMillis()));
+			if (result.getThrowable() != null && "FAIL".equals(status)) {
+				json.put("error", String.valueOf(result.getThrowable().getMessage()));
+			}
+			out.println(PREFIX + "result " + json.toJSONString());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package specs;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import config.ConfigManager;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import utils.ObjectMappers;
+
+/**
+ * Non-blocking counterpart of {@code given().spec(getRequestSpec()).when()...}: each call returns at once with a
+ * {@code CompletableFuture<Response>} completed by the JDK {@link HttpClient}, so one test thread can keep
+ * hundreds of requests in flight. The {@link Response} is an ordinary REST Assured response, and
+ * {@code then()}, {@code path()} and {@code as()} work on it as usual.
+ * <p>
+ * Requests go to {@code base.url} with the same JSON headers and timeouts as the {@link RequestSpecFactory}
+ * spec. REST Assured filters do not run, so on-failure HTTP logging does not cover these calls, and their
+ * latency is not recorded in {@link metrics.LatencyRegistry}: a fan-out mostly measures its own concurrency, which
+ * would skew the per-endpoint budgets. At most {@code async.max.in.flight} requests are on the wire at once;
+ * the rest wait in a queue without holding a thread.
+ */
+public class AsyncRequests {
+
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final String JSON = "application/json";
+
+	private static volatile AsyncRequests instance;
+
+	private final HttpClient client;
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+	private final LongAdder sent = new LongAdder();
+
+	private AsyncRequests() {
+		executor = Executors.newFixedThreadPool(ConfigManager.getIntOrDefault("async.threads", 2), r -> {
+			Thread t = new Thread(r, "async-http-" + r.hashCode());
+			t.setDaemon(true);
+			return t;
+		});
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(CONNECT_TIMEOUT)
+				.executor(executor).build();
+		permits = new Semaphore(ConfigManager.getIntOrDefault("async.max.in.flight", 256));
+	}
+
+	public static AsyncRequests getInstance() {
+		if (instance == null) {
+			synchronized (AsyncRequests.class) {
+				if (instance == null) {
+					instance = new AsyncRequests();
+				}
+			}
+		}
+		return instance;
+	}
+
+	public static void shutdown() {
+		synchronized (AsyncRequests.class) {
+			if (instance != null) {
+				instance.executor.shutdownNow();
+				instance = null;
+			}
+		}
+	}
+
+	public CompletableFuture<Response> get(String path) {
+		return send("GET", path, null);
+	}
+
+	public CompletableFuture<Response> post(String path, Object body) {
+		return send("POST", path, body);
+	}
+
+	public CompletableFuture<Response> put(String path, Object body) {
+		return send("PUT", path, body);
+	}
+
+	public CompletableFuture<Response> patch(String path, Object body) {
+		return send("PATCH", path, body);
+	}
+
+	public CompletableFuture<Response> delete(String path) {
+		return send("DELETE", path, null);
+	}
+
+	/**
+	 * Sends {@code body} (a model, a String or raw bytes; null for none) to {@code base.url + path}.
+	 */
+	public CompletableFuture<Response> send(String method, String path, Object body) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(ConfigManager.get("base.url") + path))
+				.timeout(REQUEST_TIMEOUT).header("Content-Type", JSON).header("Accept", JSON)
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+						: HttpRequest.BodyPublishers.ofByteArray(encode(body)))
+				.build();
+		CompletableFuture<Response> result = new CompletableFuture<>();
+		Runnable start = () -> {
+			int now = inFlight.incrementAndGet();
+			maxInFlight.accumulate(now);
+			sent.increment();
+			CompletableFuture<HttpResponse<byte[]>> exchange;
+			try {
+				exchange = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+			} catch (RuntimeException e) {
+				exchange = CompletableFuture.failedFuture(e);
+			}
+			exchange.whenComplete((response, error) -> {
+				inFlight.decrementAndGet();
+				release();
+				if (error != null) {
+					result.completeExceptionally(error);
+					return;
+				}
+				try {
+					result.complete(toResponse(response));
+				} catch (RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			});
+		};
+		if (permits.tryAcquire()) {
+			start.run();
+		} else {
+			waiting.add(start);
+			// A permit may have come back between tryAcquire and add
+			drain();
+		}
+		return result;
+	}
+
+	// Hands the permit straight to a waiting request, if there is one
+	private void release() {
+		permits.release();
+		drain();
+	}
+
+	private void drain() {
+		while (!waiting.isEmpty() && permits.tryAcquire()) {
+			Runnable next = waiting.poll();
+			if (next == null) {
+				permits.release();
+				return;
+			}
+			next.run();
+		}
+	}
+
+	private static byte[] encode(Object body) {
+		if (body instanceof byte[]) {
+			return (byte[]) body;
+		}
+		if (body instanceof String) {
+			return ((String) body).getBytes(StandardCharsets.UTF_8);
+		}
+		byte[] cached = PayloadCache.bytes(body);
+		if (cached != null) {
+			return cached;
+		}
+		try {
+			return ObjectMappers.getMapper().writeValueAsBytes(body);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Cannot serialize request body " + body.getClass().getSimpleName(), e);
+		}
+	}
+
+	private static Response toResponse(HttpResponse<byte[]> response) {
+		List<Header> headers = new ArrayList<>();
+		for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+			for (String value : header.getValue()) {
+				headers.add(new Header(header.getKey(), value));
+			}
+		}
+		return new ResponseBuilder().setStatusCode(response.statusCode())
+				.setStatusLine("HTTP/1.1 " + response.statusCode())
+				.setHeaders(new Headers(headers))
+				.setContentType(response.headers().firstValue("Content-Type").orElse(JSON))
+				.setBody(response.body())
+				.build();
+	}
+
+	/**
+	 * Waits for every future and returns their results in order. If any failed, the first failure is rethrown as
+	 * it was raised (an {@link AssertionError} from {@code then()} stays one), with the others attached as
+	 * suppressed.
+	 */
+	public static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(error -> null).join();
+		List<T> results = new ArrayList<>(futures.size());
+		Throwable first = null;
+		for (CompletableFuture<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+						? e.getCause().getCause() : e.getCause();
+				if (first == null) {
+					first = cause;
+				} else if (first != cause) {
+					first.addSuppressed(cause);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while joining requests", e);
+			}
+		}
+		if (first instanceof Error) {
+			throw (Error) first;
+		}
+		if (first instanceof RuntimeException) {
+			throw (RuntimeException) first;
+		}
+		if (first != null) {
+			throw new CompletionException(first);
+		}
+		return results;
+	}
+
+	public static String describe() {
+		AsyncRequests current = instance;
+		return current == null ? "not used"
+				: String.format("sent=%d, maxInFlight=%d, queued=%d", current.sent.sum(), current.maxInFlight.get(),
+						current.waiting.size());
+	}
+}
\ No newline at end of file
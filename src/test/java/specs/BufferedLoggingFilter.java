@@ -0,0 +1,166 @@
+package specs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.Status;
+
+import config.ConfigManager;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import utils.LoggerUtils;
+import utils.ReportNode;
+
+/**
+ * Keeps references to each request/response of the current test and only formats them when the test fails,
+ * the test was sampled, or the buffer grows past {@code http.log.max.buffer.bytes}. Passing tests just drop
+ * the buffer.
+ */
+public class BufferedLoggingFilter implements Filter {
+
+	private static final Logger log = LoggerUtils.getLogger(BufferedLoggingFilter.class);
+
+	private static final double SAMPLE_RATE = ConfigManager.getDoubleOrDefault("http.log.sample.rate", 0.0);
+	private static final int MAX_BUFFER_BYTES = ConfigManager.getIntOrDefault("http.log.max.buffer.bytes", 1_048_576);
+
+	private static final byte[] STREAMED_BODY = "<streamed, not buffered>".getBytes(StandardCharsets.UTF_8);
+
+	private static final ThreadLocal<Buffer> buffer = ThreadLocal.withInitial(Buffer::new);
+
+	public static void startTest() {
+		Buffer current = buffer.get();
+		current.clear();
+		current.sampled = SAMPLE_RATE > 0 && ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+	}
+
+	public static void finishTest(boolean failed, Logger testLogger, ReportNode reportNode) {
+		Buffer current = buffer.get();
+		try {
+			if (!current.exchanges.isEmpty() && (failed || current.sampled)) {
+				String formatted = current.format();
+				testLogger.info("HTTP exchanges:\n{}", formatted);
+				if (failed && reportNode != null) {
+					reportNode.codeBlock(Status.INFO, formatted);
+				}
+			}
+		} finally {
+			buffer.remove();
+		}
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		Response response;
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+		} catch (Throwable e) {
+			// Refused connections and timeouts are the failures most worth seeing the request for. REST Assured
+			// throws them as checked ConnectException/SocketTimeoutException that ctx.next does not declare
+			buffer(new Exchange(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+					requestSpec.getBody(), "<no response: " + e + ">", null, null));
+			throw e;
+		}
+		buffer(new Exchange(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+				requestSpec.getBody(), response.statusLine(), response.getHeaders(),
+				StreamingBodyFilter.isStreaming(requestSpec) ? STREAMED_BODY : response.asByteArray()));
+		return response;
+	}
+
+	private static void buffer(Exchange exchange) {
+		Buffer current = buffer.get();
+		current.add(exchange);
+		if (current.bytes > MAX_BUFFER_BYTES) {
+			log.info("HTTP exchanges (buffer over {} bytes):\n{}", MAX_BUFFER_BYTES, current.format());
+			current.clear();
+		}
+	}
+
+	private static class Buffer {
+
+		private final List<Exchange> exchanges = new ArrayList<>();
+		private long bytes;
+		private boolean sampled;
+
+		private void add(Exchange exchange) {
+			exchanges.add(exchange);
+			bytes += exchange.size();
+		}
+
+		private void clear() {
+			exchanges.clear();
+			bytes = 0;
+		}
+
+		private String format() {
+			StringBuilder sb = new StringBuilder();
+			for (Exchange exchange : exchanges) {
+				exchange.appendTo(sb);
+			}
+			return sb.toString();
+		}
+	}
+
+	private static class Exchange {
+
+		private final String method;
+		private final String uri;
+		private final Headers requestHeaders;
+		private final Object requestBody;
+		private final String statusLine;
+		private final Headers responseHeaders;
+		private final byte[] responseBody;
+
+		Exchange(String method, String uri, Headers requestHeaders, Object requestBody, String statusLine,
+				Headers responseHeaders, byte[] responseBody) {
+			this.method = method;
+			this.uri = uri;
+			this.requestHeaders = requestHeaders;
+			this.requestBody = requestBody;
+			this.statusLine = statusLine;
+			this.responseHeaders = responseHeaders;
+			this.responseBody = responseBody;
+		}
+
+		private long size() {
+			long size = responseBody == null ? 0 : responseBody.length;
+			if (requestBody instanceof byte[]) {
+				size += ((byte[]) requestBody).length;
+			} else if (requestBody instanceof String) {
+				size += ((String) requestBody).length();
+			}
+			return size;
+		}
+
+		private void appendTo(StringBuilder sb) {
+			sb.append("Request method:\t").append(method).append('\n');
+			sb.append("Request URI:\t").append(uri).append('\n');
+			sb.append("Headers:\t").append(requestHeaders).append('\n');
+			sb.append("Body:\n").append(bodyText(requestBody)).append("\n\n");
+			sb.append(statusLine).append('\n');
+			if (responseHeaders != null) {
+				sb.append(responseHeaders).append('\n');
+				sb.append(bodyText(responseBody)).append('\n');
+			}
+			sb.append('\n');
+		}
+
+		private static String bodyText(Object body) {
+			if (body == null) {
+				return "<none>";
+			}
+			if (body instanceof byte[]) {
+				return new String((byte[]) body, StandardCharsets.UTF_8);
+			}
+			return String.valueOf(body);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package specs;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Marks a GET that must reach the server even when {@link ResponseCacheFilter} holds its response, such as a
+ * test asserting on response time. The response is not stored either.
+ */
+public class CacheBypassFilter implements OrderedFilter {
+
+	public static boolean isBypassed(FilterableRequestSpecification requestSpec) {
+		for (Object filter : requestSpec.getDefinedFilters()) {
+			if (filter instanceof CacheBypassFilter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		return ctx.next(requestSpec, responseSpec);
+	}
+
+	@Override
+	public int getOrder() {
+		return DEFAULT_PRECEDENCE;
+	}
+}
\ No newline at end of file
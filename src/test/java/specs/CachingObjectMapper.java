@@ -0,0 +1,44 @@
+package specs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import utils.ObjectMappers;
+
+/**
+ * RestAssured object mapper that serves model request bodies from {@link PayloadCache} and falls back to the
+ * shared Jackson mapper for everything else, including all deserialization.
+ */
+public class CachingObjectMapper implements io.restassured.mapper.ObjectMapper {
+
+	private final ObjectMapper jackson = ObjectMappers.getMapper();
+
+	@Override
+	public Object serialize(ObjectMapperSerializationContext context) {
+		Object body = context.getObjectToSerialize();
+		// RestAssured turns anything but a String result into its toString(), so hand back text
+		String cached = PayloadCache.text(body);
+		if (cached != null) {
+			return cached;
+		}
+		try {
+			return jackson.writeValueAsString(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot serialize " + body.getClass().getSimpleName(), e);
+		}
+	}
+
+	@Override
+	public Object deserialize(ObjectMapperDeserializationContext context) {
+		try {
+			return jackson.readValue(context.getDataToDeserialize().asInputStream(),
+					jackson.constructType(context.getType()));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot deserialize response to " + context.getType().getTypeName(), e);
+		}
+	}
+}
\ No newline at end of file
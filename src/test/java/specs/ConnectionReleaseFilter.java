@@ -0,0 +1,30 @@
+package specs;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Drains every response body so its pooled connection goes back to {@link HttpClientPool}, even when the
+ * test only asserts on the status line or headers. Bodies marked with {@link StreamingBodyFilter} are left to the
+ * test.
+ */
+public class ConnectionReleaseFilter implements OrderedFilter {
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		Response response = ctx.next(requestSpec, responseSpec);
+		if (!StreamingBodyFilter.isStreaming(requestSpec)) {
+			response.asByteArray();
+		}
+		return response;
+	}
+
+	@Override
+	public int getOrder() {
+		return HIGHEST_PRECEDENCE;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,326 @@
+package specs;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import config.ConfigManager;
+import metrics.NetworkTimings;
+import metrics.NetworkTimings.Phase;
+
+/**
+ * Suite-wide, connection-pooled HTTP client shared by every test thread.
+ * <p>
+ * REST Assured 6 still drives Apache HttpClient 4 through {@code AbstractHttpClient}, so the pool is a
+ * {@link PoolingClientConnectionManager} behind a single {@link DefaultHttpClient}.
+ * <p>
+ * The pool's DNS resolver, socket factories and request executor report each request's lease, DNS, connect, TLS,
+ * send and time-to-first-byte phases to {@link NetworkTimings}.
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+
+	private static volatile HttpClientPool instance;
+
+	private final InstrumentedConnectionManager connectionManager;
+	private final DefaultHttpClient httpClient;
+	private final ScheduledExecutorService evictor;
+
+	private HttpClientPool() {
+		int maxTotal = ConfigManager.getIntOrDefault("http.pool.max.total", 200);
+		int maxPerRoute = ConfigManager.getIntOrDefault("http.pool.max.per.route", 50);
+		long keepAliveMs = ConfigManager.getIntOrDefault("http.pool.keepalive.ms", 30_000);
+		long idleTimeoutMs = ConfigManager.getIntOrDefault("http.pool.idle.timeout.ms", 60_000);
+		long leaseTimeoutMs = ConfigManager.getIntOrDefault("http.pool.lease.timeout.ms", 30_000);
+
+		connectionManager = new InstrumentedConnectionManager();
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+		httpClient = new DefaultHttpClient(connectionManager) {
+
+			@Override
+			protected HttpRequestExecutor createRequestExecutor() {
+				return new TimedRequestExecutor();
+			}
+		};
+		// A leaked lease then fails requests with ConnectionPoolTimeoutException instead of hanging them forever
+		httpClient.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, leaseTimeoutMs);
+		httpClient.setKeepAliveStrategy((response, context) -> {
+			long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+		});
+
+		evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "http-pool-evictor");
+			t.setDaemon(true);
+			return t;
+		});
+		long period = Math.max(1_000L, idleTimeoutMs / 2);
+		evictor.scheduleAtFixedRate(() -> {
+			connectionManager.closeExpiredConnections();
+			connectionManager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+		}, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	public static HttpClientPool getInstance() {
+		if (instance == null) {
+			synchronized (HttpClientPool.class) {
+				if (instance == null) {
+					instance = new HttpClientPool();
+				}
+			}
+		}
+		return instance;
+	}
+
+	public static void shutdown() {
+		synchronized (HttpClientPool.class) {
+			if (instance != null) {
+				instance.evictor.shutdownNow();
+				instance.connectionManager.shutdown();
+				instance = null;
+			}
+		}
+	}
+
+	public DefaultHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public long getHits() {
+		return connectionManager.hits.sum();
+	}
+
+	public long getMisses() {
+		return connectionManager.misses.sum();
+	}
+
+	public long getLeases() {
+		return getHits() + getMisses();
+	}
+
+	public double getReuseRate() {
+		long leases = getLeases();
+		return leases == 0 ? 0.0 : (double) getHits() / leases;
+	}
+
+	public long getTotalLeaseWaitNanos() {
+		return connectionManager.leaseWaitNanos.sum();
+	}
+
+	public long getMaxLeaseWaitNanos() {
+		return connectionManager.maxLeaseWaitNanos.get();
+	}
+
+	public String describe() {
+		long leases = getLeases();
+		double avgWaitMs = leases == 0 ? 0.0 : getTotalLeaseWaitNanos() / 1_000_000.0 / leases;
+		return String.format("leases=%d, hits=%d, misses=%d, reuse=%.1f%%, avgLeaseWait=%.3fms, maxLeaseWait=%.3fms, %s",
+				leases, getHits(), getMisses(), getReuseRate() * 100, avgWaitMs, getMaxLeaseWaitNanos() / 1_000_000.0,
+				connectionManager.getTotalStats());
+	}
+
+	private static class InstrumentedConnectionManager extends PoolingClientConnectionManager {
+
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder leaseWaitNanos = new LongAdder();
+		private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator(Math::max, 0L);
+
+		private InstrumentedConnectionManager() {
+			super(timedSchemeRegistry(), new TimedDnsResolver());
+		}
+
+		@Override
+		public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+			ClientConnectionRequest request = super.requestConnection(route, state);
+			return new ClientConnectionRequest() {
+
+				@Override
+				public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+						throws InterruptedException, ConnectionPoolTimeoutException {
+					long start = System.nanoTime();
+					ManagedClientConnection connection = request.getConnection(timeout, unit);
+					recordLease(System.nanoTime() - start, connection.isOpen());
+					return connection;
+				}
+
+				@Override
+				public void abortRequest() {
+					request.abortRequest();
+				}
+			};
+		}
+
+		private void recordLease(long waitNanos, boolean reused) {
+			(reused ? hits : misses).increment();
+			leaseWaitNanos.add(waitNanos);
+			maxLeaseWaitNanos.accumulate(waitNanos);
+			NetworkTimings.record(Phase.LEASE, waitNanos);
+		}
+
+		private static SchemeRegistry timedSchemeRegistry() {
+			SchemeRegistry registry = new SchemeRegistry();
+			registry.register(new Scheme("http", 80, new TimedSocketFactory(PlainSocketFactory.getSocketFactory())));
+			registry.register(new Scheme("https", 443, new TimedTlsSocketFactory(SSLSocketFactory.getSocketFactory())));
+			return registry;
+		}
+	}
+
+	private static class TimedDnsResolver implements DnsResolver {
+
+		@Override
+		public InetAddress[] resolve(String host) throws UnknownHostException {
+			long start = System.nanoTime();
+			try {
+				return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+			} finally {
+				NetworkTimings.record(Phase.DNS, System.nanoTime() - start);
+			}
+		}
+	}
+
+	private static class TimedSocketFactory implements SchemeSocketFactory {
+
+		private final SchemeSocketFactory delegate;
+
+		private TimedSocketFactory(SchemeSocketFactory delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Socket createSocket(HttpParams params) throws IOException {
+			return delegate.createSocket(params);
+		}
+
+		@Override
+		public Socket connectSocket(Socket sock, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+				HttpParams params) throws IOException, UnknownHostException, ConnectTimeoutException {
+			NetworkTimings.newConnection();
+			long start = System.nanoTime();
+			try {
+				return delegate.connectSocket(sock, remoteAddress, localAddress, params);
+			} finally {
+				NetworkTimings.record(Phase.CONNECT, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public boolean isSecure(Socket sock) {
+			return delegate.isSecure(sock);
+		}
+	}
+
+	// SSLSocketFactory connects and handshakes in one call; connecting in plain first splits CONNECT from TLS
+	private static class TimedTlsSocketFactory implements SchemeLayeredSocketFactory {
+
+		private final SSLSocketFactory delegate;
+
+		private TimedTlsSocketFactory(SSLSocketFactory delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Socket createSocket(HttpParams params) throws IOException {
+			return delegate.createSocket(params);
+		}
+
+		@Override
+		public Socket connectSocket(Socket sock, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+				HttpParams params) throws IOException, UnknownHostException, ConnectTimeoutException {
+			NetworkTimings.newConnection();
+			long start = System.nanoTime();
+			Socket plain;
+			try {
+				plain = PlainSocketFactory.getSocketFactory().connectSocket(sock, remoteAddress, localAddress, params);
+			} finally {
+				NetworkTimings.record(Phase.CONNECT, System.nanoTime() - start);
+			}
+			String host = remoteAddress instanceof HttpInetSocketAddress
+					? ((HttpInetSocketAddress) remoteAddress).getHttpHost().getHostName()
+					: remoteAddress.getHostName();
+			try {
+				return createLayeredSocket(plain, host, remoteAddress.getPort(), params);
+			} catch (IOException | RuntimeException e) {
+				plain.close();
+				throw e;
+			}
+		}
+
+		@Override
+		public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params)
+				throws IOException, UnknownHostException {
+			long start = System.nanoTime();
+			try {
+				return delegate.createLayeredSocket(socket, target, port, params);
+			} finally {
+				NetworkTimings.record(Phase.TLS, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		public boolean isSecure(Socket sock) {
+			return delegate.isSecure(sock);
+		}
+	}
+
+	private static class TimedRequestExecutor extends HttpRequestExecutor {
+
+		@Override
+		protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+				throws IOException, HttpException {
+			long start = System.nanoTime();
+			try {
+				return super.doSendRequest(request, conn, context);
+			} finally {
+				NetworkTimings.record(Phase.SEND, System.nanoTime() - start);
+			}
+		}
+
+		@Override
+		protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+				throws HttpException, IOException {
+			long start = System.nanoTime();
+			try {
+				return super.doReceiveResponse(request, conn, context);
+			} finally {
+				NetworkTimings.record(Phase.TTFB, System.nanoTime() - start);
+				NetworkTimings.headersReceived();
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package specs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import config.ConfigManager;
+import models.ModelSerializers;
+import models.PatchPostRequest;
+import models.Post;
+
+/**
+ * Encoded JSON for request models, keyed by the model's value ({@code equals}/{@code hashCode}), so a payload
+ * sent again is written from the cache without touching Jackson. Only the immutable {@code models} types are
+ * cached; anything else returns null.
+ * <p>
+ * Each entry keeps the bytes, for {@code given().body(PayloadCache.bytes(post))}, and the same JSON as a String,
+ * which is what RestAssured needs back from an object mapper (see {@link CachingObjectMapper}). The cache holds
+ * at most {@code payload.cache.max.entries} payloads, split into LRU segments that each lock independently.
+ * Returned arrays are shared and must not be modified.
+ */
+public class PayloadCache {
+
+	private static final int SEGMENTS = 16;
+	private static final boolean ENABLED = Boolean.parseBoolean(ConfigManager.getOrDefault("payload.cache.enabled",
+			"true"));
+
+	private static final Segment[] segments = new Segment[SEGMENTS];
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+	private static final LongAdder evictions = new LongAdder();
+
+	static {
+		int perSegment = Math.max(1, ConfigManager.getIntOrDefault("payload.cache.max.entries", 10_000) / SEGMENTS);
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment(perSegment);
+		}
+	}
+
+	private PayloadCache() {
+	}
+
+	public static boolean isCacheable(Object model) {
+		return model instanceof Post || model instanceof PatchPostRequest;
+	}
+
+	/**
+	 * The encoded payload for {@code model}, or null if its type is not cacheable.
+	 */
+	public static byte[] bytes(Object model) {
+		Entry entry = get(model);
+		return entry == null ? null : entry.bytes;
+	}
+
+	/**
+	 * The payload for {@code model} as a String, or null if its type is not cacheable.
+	 */
+	public static String text(Object model) {
+		Entry entry = get(model);
+		return entry == null ? null : entry.text;
+	}
+
+	private static Entry get(Object model) {
+		if (!isCacheable(model)) {
+			return null;
+		}
+		if (!ENABLED) {
+			return encode(model);
+		}
+		Segment segment = segments[(model.hashCode() & 0x7fffffff) % SEGMENTS];
+		Entry entry;
+		synchronized (segment) {
+			entry = segment.get(model);
+		}
+		if (entry != null) {
+			hits.increment();
+			return entry;
+		}
+		misses.increment();
+		// Encode outside the lock; two threads racing on the same payload just encode it twice
+		entry = encode(model);
+		synchronized (segment) {
+			segment.put(model, entry);
+		}
+		return entry;
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	public static long getEvictions() {
+		return evictions.sum();
+	}
+
+	public static int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public static void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public static String describe() {
+		long lookups = getHits() + getMisses();
+		return String.format("entries=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%", size(), getHits(),
+				getMisses(), getEvictions(), lookups == 0 ? 0.0 : getHits() * 100.0 / lookups);
+	}
+
+	private static Entry encode(Object model) {
+		return new Entry(model instanceof Post ? ModelSerializers.toJsonBytes((Post) model)
+				: ModelSerializers.toJsonBytes((PatchPostRequest) model));
+	}
+
+	private static class Entry {
+
+		private final byte[] bytes;
+		private final String text;
+
+		Entry(byte[] bytes) {
+			this.bytes = bytes;
+			this.text = new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static class Segment extends LinkedHashMap<Object, Entry> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+}
\ No newline at end of file
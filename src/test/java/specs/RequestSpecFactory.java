@@ -1,26 +1,72 @@
 package specs;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import config.ConfigManager;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
+import metrics.EndpointLatencyFilter;
+import metrics.NetworkTimingFilter;
 
 public class RequestSpecFactory {
 
 	private static final int CONNECT_TIMEOUT_MS = 10_000; // 10 seconds
 	private static final int SOCKET_TIMEOUT_MS = 30_000; // 30 seconds
 
+	// Built once per base URL + environment and never handed out directly, so nothing can mutate it.
+	private static final Map<String, RequestSpecification> BASE_SPECS = new ConcurrentHashMap<>();
+
 	private RequestSpecFactory() {
 	}
 
+	/**
+	 * Returns a fresh copy of the cached base spec. Headers or params added by one test never reach another.
+	 */
 	public static RequestSpecification getRequestSpec() {
-		return new RequestSpecBuilder().setBaseUri(ConfigManager.get("base.url")).setContentType(ContentType.JSON)
-				.setAccept(ContentType.JSON).log(LogDetail.ALL)
+		return new RequestSpecBuilder().addRequestSpecification(getBaseSpec()).build();
+	}
+
+	public static RequestSpecification buildRequestSpec(String baseUrl) {
+		RequestSpecBuilder builder = new RequestSpecBuilder().setBaseUri(baseUrl).setContentType(ContentType.JSON)
+				.setAccept(ContentType.JSON).addFilter(new ConnectionReleaseFilter())
+				.addFilter(new NetworkTimingFilter()).addFilter(new EndpointLatencyFilter());
+		if (ResponseCache.isEnabled()) {
+			builder.addFilter(new ResponseCacheFilter());
+		}
+		applyLogMode(builder);
+		return builder
 				.setConfig(io.restassured.RestAssured.config()
 						.httpClient(io.restassured.config.HttpClientConfig.httpClientConfig()
+								.httpClientFactory(() -> HttpClientPool.getInstance().getHttpClient())
+								.reuseHttpClientInstance()
 								.setParam("http.connection.timeout", CONNECT_TIMEOUT_MS)
 								.setParam("http.socket.timeout", SOCKET_TIMEOUT_MS)))
 				.build();
 	}
+
+	// http.log.mode: on-failure (default) buffers exchanges per test, all logs every call, none disables logging
+	private static void applyLogMode(RequestSpecBuilder builder) {
+		String mode = ConfigManager.getOrDefault("http.log.mode", "on-failure");
+		switch (mode) {
+		case "all":
+			builder.log(LogDetail.ALL);
+			break;
+		case "on-failure":
+			builder.addFilter(new BufferedLoggingFilter());
+			break;
+		case "none":
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown http.log.mode: '" + mode + "'");
+		}
+	}
+
+	private static RequestSpecification getBaseSpec() {
+		String baseUrl = ConfigManager.get("base.url");
+		String environment = ConfigManager.getOrDefault("env", "QA");
+		return BASE_SPECS.computeIfAbsent(environment + '|' + baseUrl, key -> buildRequestSpec(baseUrl));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+package specs;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import config.ConfigManager;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+/**
+ * Suite-wide store of GET responses for {@link ResponseCacheFilter}, keyed by method, full URI (query included)
+ * and the request headers named in {@code response.cache.vary.headers}. Only 2xx responses without
+ * {@code Cache-Control: no-store} are kept, for {@code response.cache.ttl.ms}.
+ * <p>
+ * Bounded by {@code response.cache.max.entries} and {@code response.cache.max.bytes} of body, split into LRU
+ * segments that each lock independently, like {@link PayloadCache}. A write to a path drops the entries for
+ * that path and its parent collections (a DELETE also its sub-resources), and a GET that was in flight during a
+ * write to its path is not stored.
+ * <p>
+ * Concurrent misses on one key share a single fetch: the first thread sends the request and the others wait for
+ * its response ({@code coalesced} in {@link #describe()}).
+ */
+public class ResponseCache {
+
+	private static final int SEGMENTS = 16;
+	// Writes remembered for GETs still in flight; one that saw more writes than this is not stored
+	private static final int WRITE_LOG_SIZE = 64;
+	private static final boolean ENABLED = Boolean.parseBoolean(ConfigManager.getOrDefault("response.cache.enabled",
+			"false"));
+	private static final long TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(
+			ConfigManager.getIntOrDefault("response.cache.ttl.ms", 60_000));
+	private static final String[] VARY_HEADERS = ConfigManager.getOrDefault("response.cache.vary.headers",
+			"Accept,Authorization").split("\\s*,\\s*");
+
+	private static final Segment[] segments = new Segment[SEGMENTS];
+	private static final WriteLog writeLog = new WriteLog();
+	private static final ConcurrentMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder coalesced = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+	private static final LongAdder bypassed = new LongAdder();
+	private static final LongAdder expired = new LongAdder();
+	private static final LongAdder evictions = new LongAdder();
+	private static final LongAdder invalidations = new LongAdder();
+
+	static {
+		int perSegment = Math.max(1, ConfigManager.getIntOrDefault("response.cache.max.entries", 1_000) / SEGMENTS);
+		long bytesPerSegment = Math.max(1, ConfigManager.getIntOrDefault("response.cache.max.bytes", 64 << 20)
+				/ SEGMENTS);
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment(perSegment, bytesPerSegment);
+		}
+	}
+
+	private ResponseCache() {
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	public static String key(String method, String uri, Headers headers) {
+		StringBuilder sb = new StringBuilder(method).append(' ').append(uri);
+		for (String name : VARY_HEADERS) {
+			String value = headers.getValue(name);
+			if (value != null) {
+				sb.append('\n').append(name).append(": ").append(value);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * The response for {@code key}: from the cache, from a fetch of the same key already in flight on another
+	 * thread, or from {@code send}. With {@code fill} false the response is never stored, and a miss does not
+	 * wait for another thread's fetch.
+	 */
+	public static Response fetch(String key, String uri, boolean fill, Supplier<Response> send) {
+		Response cached = get(key);
+		if (cached != null || !fill) {
+			return cached != null ? cached : send.get();
+		}
+		CompletableFuture<Entry> mine = new CompletableFuture<>();
+		CompletableFuture<Entry> leader = inFlight.putIfAbsent(key, mine);
+		if (leader != null) {
+			Entry shared = leader.join();
+			if (shared != null) {
+				coalesced.increment();
+				return shared.toResponse();
+			}
+			// The first fetch could not be stored, so it cannot be shared either
+			return send.get();
+		}
+		try {
+			long since = generation();
+			Response response = send.get();
+			mine.complete(put(key, uri, response, since));
+			return response;
+		} finally {
+			inFlight.remove(key, mine);
+			mine.complete(null);
+		}
+	}
+
+	private static Response get(String key) {
+		Segment segment = segmentFor(key);
+		Entry entry;
+		synchronized (segment) {
+			entry = segment.get(key);
+			if (entry != null && System.nanoTime() - entry.storedAt > TTL_NANOS) {
+				segment.drop(key);
+				expired.increment();
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.toResponse();
+	}
+
+	private static long generation() {
+		synchronized (writeLog) {
+			return writeLog.generation;
+		}
+	}
+
+	// The stored entry, or null if the response may not be cached
+	private static Entry put(String key, String uri, Response response, long sentAtGeneration) {
+		if (response.statusCode() < 200 || response.statusCode() >= 300) {
+			return null;
+		}
+		String cacheControl = response.getHeader("Cache-Control");
+		if (cacheControl != null && cacheControl.contains("no-store")) {
+			return null;
+		}
+		Entry entry = new Entry(pathOf(uri), response);
+		Segment segment = segmentFor(key);
+		// Held while adding, so a write logged after the check also finds the entry to drop
+		synchronized (writeLog) {
+			if (writeLog.wroteSince(sentAtGeneration, entry.path)) {
+				return null;
+			}
+			synchronized (segment) {
+				segment.add(key, entry);
+			}
+		}
+		return entry;
+	}
+
+	public static void recordBypass() {
+		bypassed.increment();
+	}
+
+	/**
+	 * Drops the entries a {@code method} request to {@code uri} may have changed.
+	 */
+	public static void invalidate(String method, String uri) {
+		String path = pathOf(uri);
+		boolean delete = "DELETE".equals(method);
+		synchronized (writeLog) {
+			writeLog.add(path, delete);
+		}
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				for (Iterator<Entry> it = segment.values().iterator(); it.hasNext();) {
+					Entry entry = it.next();
+					if (affects(path, delete, entry.path)) {
+						segment.bytes -= entry.body.length;
+						it.remove();
+						invalidations.increment();
+					}
+				}
+			}
+		}
+	}
+
+	public static void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+				segment.bytes = 0;
+			}
+		}
+	}
+
+	public static long getHits() {
+		return hits.sum();
+	}
+
+	public static long getMisses() {
+		return misses.sum();
+	}
+
+	public static int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public static String describe() {
+		if (!ENABLED) {
+			return "disabled";
+		}
+		long lookups = getHits() + getMisses();
+		long shared = getHits() + coalesced.sum();
+		return String.format("entries=%d, hits=%d, coalesced=%d, misses=%d, sharedRate=%.1f%%, bypassed=%d, "
+				+ "expired=%d, evictions=%d, invalidated=%d", size(), getHits(), coalesced.sum(), getMisses(),
+				lookups == 0 ? 0.0 : shared * 100.0 / lookups, bypassed.sum(), expired.sum(), evictions.sum(),
+				invalidations.sum());
+	}
+
+	private static boolean affects(String written, boolean delete, String cached) {
+		return cached.equals(written) || written.startsWith(cached + "/")
+				|| (delete && cached.startsWith(written + "/"));
+	}
+
+	// Not java.net.URI: with URL encoding off, REST Assured can hand over URIs it would reject
+	private static String pathOf(String uri) {
+		int scheme = uri.indexOf("://");
+		int slash = uri.indexOf('/', scheme < 0 ? 0 : scheme + 3);
+		String path = slash < 0 ? "/" : uri.substring(slash);
+		int query = path.indexOf('?');
+		if (query >= 0) {
+			path = path.substring(0, query);
+		}
+		return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+	}
+
+	private static Segment segmentFor(String key) {
+		return segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+	}
+
+	private static class Entry {
+
+		private final String path;
+		private final int statusCode;
+		private final String statusLine;
+		private final Headers headers;
+		private final String contentType;
+		private final byte[] body;
+		private final long storedAt = System.nanoTime();
+
+		Entry(String path, Response response) {
+			this.path = path;
+			this.statusCode = response.statusCode();
+			this.statusLine = response.statusLine();
+			this.headers = response.headers();
+			this.contentType = response.contentType();
+			this.body = response.asByteArray();
+		}
+
+		Response toResponse() {
+			return new ResponseBuilder().setStatusCode(statusCode).setStatusLine(statusLine).setHeaders(headers)
+					.setContentType(contentType).setBody(body).build();
+		}
+	}
+
+	private static class WriteLog {
+
+		private final String[] paths = new String[WRITE_LOG_SIZE];
+		private final boolean[] deletes = new boolean[WRITE_LOG_SIZE];
+		private long generation;
+
+		void add(String path, boolean delete) {
+			int slot = (int) (++generation % WRITE_LOG_SIZE);
+			paths[slot] = path;
+			deletes[slot] = delete;
+		}
+
+		boolean wroteSince(long since, String cachedPath) {
+			if (generation - since > WRITE_LOG_SIZE) {
+				return true;
+			}
+			for (long g = since + 1; g <= generation; g++) {
+				int slot = (int) (g % WRITE_LOG_SIZE);
+				if (affects(paths[slot], deletes[slot], cachedPath)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static class Segment extends LinkedHashMap<String, Entry> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+		private final long maxBytes;
+		private long bytes;
+
+		Segment(int capacity, long maxBytes) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+			this.maxBytes = maxBytes;
+		}
+
+		void drop(String key) {
+			Entry removed = remove(key);
+			if (removed != null) {
+				bytes -= removed.body.length;
+			}
+		}
+
+		void add(String key, Entry entry) {
+			if (entry.body.length > maxBytes) {
+				return;
+			}
+			Entry previous = put(key, entry);
+			bytes += entry.body.length - (previous == null ? 0 : previous.body.length);
+			List<String> eldest = new ArrayList<>();
+			Iterator<Map.Entry<String, Entry>> it = entrySet().iterator();
+			while ((size() - eldest.size() > capacity || bytes > maxBytes) && it.hasNext()) {
+				Map.Entry<String, Entry> candidate = it.next();
+				eldest.add(candidate.getKey());
+				bytes -= candidate.getValue().body.length;
+			}
+			for (String evicted : eldest) {
+				remove(evicted);
+				evictions.increment();
+			}
+		}
+	}
+}
\ No newline at end of file
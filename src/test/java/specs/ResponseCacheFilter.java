@@ -0,0 +1,48 @@
+package specs;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Serves repeated GETs from {@link ResponseCache}, so tests that only assert on content share one fetch. Added to
+ * the base spec when {@code response.cache.enabled=true}.
+ * <p>
+ * Runs outside {@code NetworkTimingFilter} and {@code EndpointLatencyFilter}, so a cached response records no
+ * latency and the per-endpoint stats only describe real requests. Requests marked with {@link CacheBypassFilter}
+ * always go to the server. Streamed requests ({@link StreamingBodyFilter}) are served from the cache but never
+ * fill it, since their body is read later by the test. Every other method invalidates the cache for its path.
+ */
+public class ResponseCacheFilter implements OrderedFilter {
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		String uri = requestSpec.getURI();
+		if (!"GET".equals(requestSpec.getMethod())) {
+			// Before as well as after, so a GET sent while the write is in flight is not stored
+			ResponseCache.invalidate(requestSpec.getMethod(), uri);
+			try {
+				return ctx.next(requestSpec, responseSpec);
+			} finally {
+				ResponseCache.invalidate(requestSpec.getMethod(), uri);
+			}
+		}
+		if (CacheBypassFilter.isBypassed(requestSpec)) {
+			ResponseCache.recordBypass();
+			return ctx.next(requestSpec, responseSpec);
+		}
+
+		String key = ResponseCache.key(requestSpec.getMethod(), uri, requestSpec.getHeaders());
+		return ResponseCache.fetch(key, uri, !StreamingBodyFilter.isStreaming(requestSpec),
+				() -> ctx.next(requestSpec, responseSpec));
+	}
+
+	@Override
+	public int getOrder() {
+		// Just outside NetworkTimingFilter (LOWEST_PRECEDENCE - 1)
+		return LOWEST_PRECEDENCE - 2;
+	}
+}
\ No newline at end of file
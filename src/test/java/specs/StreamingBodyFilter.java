@@ -0,0 +1,37 @@
+package specs;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Marks a request whose response body is read as a stream by the test. {@link ConnectionReleaseFilter},
+ * {@link BufferedLoggingFilter} and {@code EndpointLatencyFilter} leave such bodies unread, so the caller must
+ * consume and close {@code response.asInputStream()} to return the connection to the pool.
+ * <p>
+ * {@code http.log.mode=all} still buffers the body, since RestAssured's own logging reads it.
+ */
+public class StreamingBodyFilter implements OrderedFilter {
+
+	public static boolean isStreaming(FilterableRequestSpecification requestSpec) {
+		for (Object filter : requestSpec.getDefinedFilters()) {
+			if (filter instanceof StreamingBodyFilter) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		return ctx.next(requestSpec, responseSpec);
+	}
+
+	@Override
+	public int getOrder() {
+		return DEFAULT_PRECEDENCE;
+	}
+}
\ No newline at end of file
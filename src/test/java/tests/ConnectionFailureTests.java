@@ -0,0 +1,102 @@
+package tests;
+
+import static io.restassured.RestAssured.given;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.apache.logging.log4j.simple.SimpleLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import base.BaseTest;
+import config.ConfigManager;
+import metrics.EndpointStats;
+import metrics.LatencyRegistry;
+import specs.BufferedLoggingFilter;
+import specs.RequestSpecFactory;
+
+/**
+ * Requests to a port nothing listens on: the framework's filters must still account for a request that never got
+ * a response.
+ */
+public class ConnectionFailureTests extends BaseTest {
+
+    // Not an API endpoint, so the failures recorded here stay out of the latency budgets and baseline
+    private static final String PATH = "/unreachable";
+
+    @Test(description = "Verify a refused connection still leaves its request in the HTTP log")
+    public void TC_001_shouldLogRequestThatGotNoResponse() throws IOException {
+        if (!"on-failure".equals(ConfigManager.getOrDefault("http.log.mode", "on-failure"))) {
+            throw new SkipException("HTTP exchanges are only buffered with http.log.mode=on-failure");
+        }
+        String baseUrl = "http://127.0.0.1:" + closedPort();
+        getLogger().info("TC_001: GET {}{} → connection refused, request must still be logged", baseUrl, PATH);
+
+        Throwable thrown = null;
+        try {
+            given()
+                .spec(RequestSpecFactory.buildRequestSpec(baseUrl))
+            .when()
+                .get(PATH);
+        } catch (Throwable t) {
+            thrown = t;
+        }
+        Assert.assertTrue(thrown instanceof ConnectException, "Expected a ConnectException but got " + thrown);
+
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        BufferedLoggingFilter.finishTest(true, captureTo(captured), null);
+        String logged = captured.toString(StandardCharsets.UTF_8);
+
+        Assert.assertTrue(logged.contains(baseUrl + PATH), "Refused request missing from HTTP log:\n" + logged);
+        Assert.assertTrue(logged.contains("<no response: " + thrown.getClass().getName()),
+                "Missing <no response> marker in HTTP log:\n" + logged);
+        getExtentTest().pass("Refused request logged with its ConnectException");
+    }
+
+    @Test(description = "Verify a refused connection is recorded as an errored latency sample")
+    public void TC_002_shouldRecordRefusedRequestAsError() throws IOException {
+        String baseUrl = "http://127.0.0.1:" + closedPort();
+        EndpointStats stats = LatencyRegistry.forEndpoint("PUT", PATH);
+        long countBefore = stats.getCount();
+        long errorsBefore = stats.getErrors();
+        getLogger().info("TC_002: PUT {}{} → connection refused, must count as an error", baseUrl, PATH);
+
+        Throwable thrown = null;
+        try {
+            given()
+                .spec(RequestSpecFactory.buildRequestSpec(baseUrl))
+            .when()
+                .put(PATH);
+        } catch (Throwable t) {
+            thrown = t;
+        }
+        Assert.assertTrue(thrown instanceof ConnectException, "Expected a ConnectException but got " + thrown);
+
+        Assert.assertEquals(stats.getCount(), countBefore + 1, "Refused request missing from latency samples");
+        Assert.assertEquals(stats.getErrors(), errorsBefore + 1, "Refused request not counted as an error");
+        getExtentTest().pass("Refused request recorded as an error in " + stats.getEndpoint());
+    }
+
+    // Bound and released, so nothing is listening on it for the moment the test needs
+    static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Logger captureTo(ByteArrayOutputStream out) {
+        return new SimpleLogger("capture", Level.ALL, false, false, false, false, null,
+                ParameterizedMessageFactory.INSTANCE, PropertiesUtil.getProperties(),
+                new PrintStream(out, true, StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -1,13 +1,24 @@
 package tests;
 
+import static assertions.StreamingJsonAssert.assertThatArray;
 import static io.restassured.RestAssured.given;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static org.hamcrest.Matchers.*;
+import static utils.SchemaRegistry.matchesJsonSchemaInClasspath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import assertions.ParsedResponse;
 import base.BaseTest;
+import io.restassured.response.Response;
+import models.Post;
+import specs.AsyncRequests;
+import specs.CacheBypassFilter;
+import specs.StreamingBodyFilter;
 
 public class GetApiTests extends BaseTest {
 
@@ -31,14 +42,18 @@ public class GetApiTests extends BaseTest {
     public void TC_002_shouldReturnListOfPostsWithExpectedIds() {
         getLogger().info("TC_002: GET /posts → verify list contains IDs 1, 2, 9");
 
-        given()
-            .spec(getRequestSpec())
-        .when()
-            .get("/posts")
-        .then()
-            .statusCode(200)
-            .body("[1].id", equalTo(2))      
-            .body("id", hasItems(1, 9));
+        Response response =
+            given()
+                .spec(getRequestSpec())
+                .filter(new StreamingBodyFilter())
+            .when()
+                .get("/posts");
+
+        assertThatArray(response)
+            .hasStatusCode(200)
+            .itemAt(1, "id", equalTo(2))
+            .hasItems("id", 1, 9)
+            .verify();
 
         getExtentTest().pass("Post list contains expected IDs");
     }
@@ -63,14 +78,19 @@ public class GetApiTests extends BaseTest {
     public void TC_004_shouldReturnPostsFilteredByUserIdUsingQueryParams() {
         getLogger().info("TC_004: GET /posts?userId=1 → all results must have userId=1");
 
-        given()
-            .spec(getRequestSpec())
-            .queryParam("userId", 1)
-        .when()
-            .get("/posts")
-        .then()
-            .statusCode(200)
-            .body("userId", everyItem(equalTo(1)));
+        Response response =
+            given()
+                .spec(getRequestSpec())
+                .filter(new StreamingBodyFilter())
+                .queryParam("userId", 1)
+            .when()
+                .get("/posts");
+
+        assertThatArray(response)
+            .hasStatusCode(200)
+            .everyItem("userId", equalTo(1))
+            .everyItemMatchesSchema("schemas/getPostSchema.json")
+            .verify();
 
         getExtentTest().pass("All returned posts have userId=1");
     }
@@ -97,6 +117,7 @@ public class GetApiTests extends BaseTest {
 
         given()
             .spec(getRequestSpec())
+            .filter(new CacheBypassFilter())
         .when()
             .get("/posts/1")
         .then()
@@ -128,13 +149,17 @@ public class GetApiTests extends BaseTest {
     public void TC_008_shouldReturnExactlyOneHundredPosts() {
         getLogger().info("TC_008: GET /posts → expect exactly 100 records");
 
-        given()
-            .spec(getRequestSpec())
-        .when()
-            .get("/posts")
-        .then()
-            .statusCode(200)
-            .body("size()", equalTo(100));
+        Response response =
+            given()
+                .spec(getRequestSpec())
+                .filter(new StreamingBodyFilter())
+            .when()
+                .get("/posts");
+
+        assertThatArray(response)
+            .hasStatusCode(200)
+            .hasSize(equalTo(100))
+            .verify();
 
         getExtentTest().pass("Exactly 100 posts returned");
     }
@@ -143,15 +168,21 @@ public class GetApiTests extends BaseTest {
     public void TC_009_shouldValidateMultipleFieldsInPostResponse() {
         getLogger().info("TC_009: GET /posts/1 → validate userId, id, title");
 
-        given()
-            .spec(getRequestSpec())
-        .when()
-            .get("/posts/1")
-        .then()
-            .statusCode(200)
-            .body("userId", equalTo(1),
-                  "id",     equalTo(1),
-                  "title",  notNullValue());
+        ParsedResponse response = ParsedResponse.of(
+            given()
+                .spec(getRequestSpec())
+            .when()
+                .get("/posts/1")
+            .then()
+                .statusCode(200)
+                .extract().response());
+
+        response.body("userId", equalTo(1))
+                .body("id",     equalTo(1))
+                .body("title",  notNullValue());
+
+        Post post = response.as(Post.class);
+        Assert.assertEquals(post.getId(), response.path("id"), "Bound Post disagrees with the parsed body");
 
         getExtentTest().pass("userId, id, and title all validated");
     }
@@ -185,4 +216,25 @@ public class GetApiTests extends BaseTest {
 
         getExtentTest().pass("Custom Accept header accepted, status 200 returned");
     }
+
+    @Test(description = "Fetch GET /posts/{id} for ids 1..100 concurrently and verify each post")
+    public void TC_012_shouldFetchPostsConcurrently() {
+        getLogger().info("TC_012: GET /posts/1..100 concurrently → expect each id back");
+
+        List<CompletableFuture<Post>> requests = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            int expectedId = id;
+            requests.add(getAsync().get("/posts/" + id)
+                .thenApply(response -> response.then()
+                    .statusCode(200)
+                    .body("id", equalTo(expectedId))
+                    .extract()
+                    .as(Post.class)));
+        }
+
+        List<Post> posts = AsyncRequests.joinAll(requests);
+
+        Assert.assertEquals(posts.size(), 100, "Every request should have produced a post");
+        getExtentTest().pass("100 posts fetched concurrently, ids 1..100 confirmed");
+    }
 }
\ No newline at end of file
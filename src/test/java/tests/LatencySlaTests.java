@@ -0,0 +1,51 @@
+package tests;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import base.BaseTest;
+import metrics.EndpointStats;
+import metrics.LatencyBudgets;
+import metrics.LatencyBudgets.Budget;
+import metrics.LatencyRegistry;
+
+/**
+ * Checks the latency percentiles recorded for every request made by the earlier tests in the suite against
+ * the budgets in latency-budgets.json. Runs as the last &lt;test&gt; in testng.xml.
+ */
+public class LatencySlaTests extends BaseTest {
+
+    @DataProvider(name = "budgets")
+    public Object[][] budgets() {
+        List<Budget> budgets = LatencyBudgets.load();
+        Object[][] rows = new Object[budgets.size()][];
+        for (int i = 0; i < budgets.size(); i++) {
+            rows[i] = new Object[] { budgets.get(i) };
+        }
+        return rows;
+    }
+
+    @Test(dataProvider = "budgets", description = "Verify endpoint latency percentile is within its budget")
+    public void TC_001_shouldKeepEndpointLatencyPercentileWithinBudget(Budget budget) {
+        getLogger().info("TC_001: {}", budget);
+
+        EndpointStats stats = LatencyRegistry.get(budget.getEndpoint());
+        if (stats == null || stats.getCount() == 0) {
+            throw new SkipException("No requests recorded for " + budget.getEndpoint());
+        }
+
+        double actualMs = stats.getPercentileMillis(budget.getPercentile());
+        getExtentTest().info(budget.getEndpoint() + " " + budget.getLabel() + " = " + actualMs + "ms over "
+                + stats.getCount() + " requests (budget " + budget.getMaxMillis() + "ms)");
+
+        Assert.assertTrue(actualMs <= budget.getMaxMillis(),
+                budget.getEndpoint() + " " + budget.getLabel() + " was " + actualMs + "ms, budget is "
+                        + budget.getMaxMillis() + "ms");
+
+        getExtentTest().pass(budget.getLabel() + " within budget");
+    }
+}
\ No newline at end of file
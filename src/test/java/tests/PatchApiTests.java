@@ -7,6 +7,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import base.BaseTest;
+import config.ConfigManager;
+import data.DataProviders;
+import data.PayloadGenerator;
 import models.PatchPostRequest;
 import models.Post;
 
@@ -19,7 +22,7 @@ public class PatchApiTests extends BaseTest {
         getLogger().info("TC_001: PATCH /posts/1 → update title only, body field must be absent in request");
 
         PatchPostRequest request = new PatchPostRequest("Patched Title", null);
-        getExtentTest().info("PATCH payload (body omitted): " + request);
+        getExtentTest().info("PATCH payload (body omitted): ", request);
 
         Post response =
             given()
@@ -43,7 +46,7 @@ public class PatchApiTests extends BaseTest {
         getLogger().info("TC_002: PATCH /posts/1 → update both title and body");
 
         PatchPostRequest request = new PatchPostRequest("Updated via PATCH", "Updated body");
-        getExtentTest().info("PATCH payload: " + request);
+        getExtentTest().info("PATCH payload: ", request);
 
         Post response =
             given()
@@ -79,4 +82,60 @@ public class PatchApiTests extends BaseTest {
 
         getExtentTest().pass("PATCH responded within " + RESPONSE_TIME_LIMIT_MS + "ms");
     }
+
+    @Test(description = "Verify PATCH applies generated partial updates")
+    public void TC_004_shouldApplyGeneratedPatchPayloads() {
+        int count = ConfigManager.getIntOrDefault("data.count", 20);
+        getLogger().info("TC_004: PATCH /posts/1 with {} generated payloads", count);
+
+        forEachRow(PayloadGenerator.fromConfig().patches(count), request -> {
+            Post response =
+                given()
+                    .spec(getRequestSpec())
+                    .body(request)
+                .when()
+                    .patch("/posts/1")
+                .then()
+                    .statusCode(200)
+                    .extract()
+                    .as(Post.class);
+
+            if (request.getTitle() != null) {
+                Assert.assertEquals(response.getTitle(), request.getTitle(), "Title mismatch after PATCH");
+            }
+            if (request.getBody() != null) {
+                Assert.assertEquals(response.getBody(), request.getBody(), "Body mismatch after PATCH");
+            }
+        });
+        getExtentTest().pass(count + " generated patches applied to post 1");
+    }
+
+    @Test(description = "Verify PATCH applies every row of the patches data file")
+    public void TC_005_shouldApplyEveryDataFilePatch() {
+        String file = ConfigManager.getOrDefault("data.patches.file", "data/patches.jsonl");
+        getLogger().info("TC_005: PATCH /posts for every row of {}", file);
+
+        forEachRow(DataProviders.fromFile(file), row -> {
+            PatchPostRequest request = row.as("patch", PatchPostRequest.class);
+
+            Post response =
+                given()
+                    .spec(getRequestSpec())
+                    .body(request)
+                .when()
+                    .patch("/posts/" + row.getInt("postId", 1))
+                .then()
+                    .statusCode(200)
+                    .extract()
+                    .as(Post.class);
+
+            if (request.getTitle() != null) {
+                Assert.assertEquals(response.getTitle(), request.getTitle(), "title mismatch for data row " + row.getIndex());
+            }
+            if (request.getBody() != null) {
+                Assert.assertEquals(response.getBody(), request.getBody(), "body mismatch for data row " + row.getIndex());
+            }
+        });
+        getExtentTest().pass("Every row of " + file + " patched its post");
+    }
 }
\ No newline at end of file
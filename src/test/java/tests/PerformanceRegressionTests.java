@@ -0,0 +1,66 @@
+package tests;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.aventstack.extentreports.Status;
+
+import base.BaseTest;
+import config.ConfigManager;
+import metrics.EndpointStats;
+import metrics.LatencyBaseline;
+import metrics.LatencyRegistry;
+import metrics.RegressionCheck;
+
+/**
+ * Compares this run's per-endpoint latency against the stored baseline and fails on regressions past the
+ * configured tolerance. Record a baseline with -Dperf.baseline.update=true.
+ */
+public class PerformanceRegressionTests extends BaseTest {
+
+    @DataProvider(name = "baselineEndpoints")
+    public Object[][] baselineEndpoints() {
+        Path baselineFile = Paths.get(ConfigManager.getOrDefault("perf.baseline.file", "baselines/latency-baseline.hlog"));
+        if (!LatencyBaseline.exists(baselineFile)) {
+            return new Object[][] { { "<no baseline>", null } };
+        }
+        Map<String, Histogram> histograms = LatencyBaseline.load(baselineFile).getHistograms();
+        Object[][] rows = new Object[histograms.size()][];
+        int i = 0;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            rows[i++] = new Object[] { entry.getKey(), entry.getValue() };
+        }
+        return rows;
+    }
+
+    @Test(dataProvider = "baselineEndpoints", description = "Verify endpoint latency has not regressed against the baseline")
+    public void TC_001_shouldNotRegressAgainstLatencyBaseline(String endpoint, Histogram baseline) {
+        getLogger().info("TC_001: {} → compare against latency baseline", endpoint);
+
+        if (baseline == null) {
+            throw new SkipException("No latency baseline yet; record one with -Dperf.baseline.update=true");
+        }
+        EndpointStats stats = LatencyRegistry.get(endpoint);
+        if (stats == null || stats.getCount() == 0) {
+            throw new SkipException("No requests recorded for " + endpoint + " in this run");
+        }
+
+        RegressionCheck.Result result = RegressionCheck.fromConfig().compare(endpoint, baseline, stats.snapshot());
+        getLogger().info("Baseline comparison:\n{}", result.getSummary());
+        getExtentTest().codeBlock(result.isRegression() ? Status.FAIL : Status.INFO, result.getSummary());
+
+        if (!result.isConclusive()) {
+            throw new SkipException("Too few samples to compare " + endpoint);
+        }
+        Assert.assertFalse(result.isRegression(), endpoint + " regressed: " + result.getRegressions());
+
+        getExtentTest().pass(endpoint + " within tolerance of baseline");
+    }
+}
\ No newline at end of file
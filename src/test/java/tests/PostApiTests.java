@@ -1,14 +1,22 @@
 package tests;
 
 import static io.restassured.RestAssured.given;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static org.hamcrest.Matchers.lessThan;
+import static utils.SchemaRegistry.matchesJsonSchemaInClasspath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import base.BaseTest;
+import config.ConfigManager;
+import data.DataProviders;
+import data.PayloadGenerator;
 import models.Post;
+import specs.AsyncRequests;
 
 public class PostApiTests extends BaseTest {
 
@@ -19,7 +27,7 @@ public class PostApiTests extends BaseTest {
         getLogger().info("TC_001: POST /posts → create post, verify echoed fields");
 
         Post request = new Post(1, "API Testing", "Learning REST Assured");
-        getExtentTest().info("Request body: " + request);
+        getExtentTest().info("Request body: ", request);
 
         Post response =
             given()
@@ -36,7 +44,7 @@ public class PostApiTests extends BaseTest {
 
         Assert.assertNotNull(response.getId(),     "id should not be null in response");
         Assert.assertTrue(response.getId() > 0,    "id should be a positive integer");
-        Assert.assertEquals(response.getUserId(),  Integer.valueOf(1));
+        Assert.assertEquals(response.getUserId(),  1);
         Assert.assertEquals(response.getTitle(),   "API Testing");
         Assert.assertEquals(response.getBody(),    "Learning REST Assured");
 
@@ -86,31 +94,34 @@ public class PostApiTests extends BaseTest {
 
     @Test(description = "Verify POST works for multiple user IDs")
     public void TC_004_shouldCreatePostForDifferentUsers() {
-        getLogger().info("TC_004: POST /posts → loop over userId 1..3");
+        getLogger().info("TC_004: POST /posts → userId 1..3 concurrently");
 
+        List<CompletableFuture<Post>> requests = new ArrayList<>();
         for (int i = 1; i <= 3; i++) {
+            int userId = i;
             String expectedTitle = "User" + i + " Title";
             Post request = new Post(i, expectedTitle, "Testing user " + i);
 
-            Post response =
-                given()
-                    .spec(getRequestSpec())
-                    .body(request)
-                .when()
-                    .post("/posts")
-                .then()
-                    .statusCode(201)
-                    .extract()
-                    .as(Post.class);
+            requests.add(getAsync().post("/posts", request)
+                .thenApply(response -> {
+                    Post created = response.then()
+                        .statusCode(201)
+                        .extract()
+                        .as(Post.class);
+
+                    Assert.assertEquals(created.getUserId(), userId,
+                            "userId mismatch for userId=" + userId);
+                    Assert.assertEquals(created.getTitle(), expectedTitle,
+                            "title mismatch for userId=" + userId);
+                    return created;
+                }));
+        }
 
-            Assert.assertEquals(response.getUserId(), Integer.valueOf(i),
-                    "userId mismatch for iteration " + i);
-            Assert.assertEquals(response.getTitle(), expectedTitle,
-                    "title mismatch for userId=" + i);
+        List<Post> created = AsyncRequests.joinAll(requests);
 
-            getExtentTest().info("userId=" + i + " post created. id=" + response.getId());
+        for (Post post : created) {
+            getExtentTest().info("userId=" + post.getUserId() + " post created. id=" + post.getId());
         }
-
         getExtentTest().pass("Posts created successfully for userIds 1, 2, 3");
     }
 
@@ -131,4 +142,50 @@ public class PostApiTests extends BaseTest {
 
         getExtentTest().pass("Response matches postPostSchema.json");
     }
+
+    @Test(description = "Verify POST echoes generated payloads unchanged")
+    public void TC_006_shouldEchoGeneratedPostPayloads() {
+        int count = ConfigManager.getIntOrDefault("data.count", 20);
+        getLogger().info("TC_006: POST /posts with {} generated payloads", count);
+
+        forEachRow(PayloadGenerator.fromConfig().posts(count), request -> {
+            Post response =
+                given()
+                    .spec(getRequestSpec())
+                    .body(request)
+                .when()
+                    .post("/posts")
+                .then()
+                    .statusCode(201)
+                    .extract()
+                    .as(Post.class);
+
+            Assert.assertEquals(response.withId(null), request, "Generated payload was not echoed unchanged");
+        });
+        getExtentTest().pass(count + " generated payloads echoed unchanged");
+    }
+
+    @Test(description = "Verify POST accepts every row of the posts data file")
+    public void TC_007_shouldCreatePostForEveryDataFileRow() {
+        String file = ConfigManager.getOrDefault("data.posts.file", "data/posts.csv");
+        getLogger().info("TC_007: POST /posts for every row of {}", file);
+
+        forEachRow(DataProviders.fromFile(file), row -> {
+            Post request = row.as(Post.class);
+
+            Post response =
+                given()
+                    .spec(getRequestSpec())
+                    .body(request)
+                .when()
+                    .post("/posts")
+                .then()
+                    .statusCode(row.getInt("expectedStatus", 201))
+                    .extract()
+                    .as(Post.class);
+
+            Assert.assertEquals(response.getTitle(), request.getTitle(), "title mismatch for data row " + row.getIndex());
+        });
+        getExtentTest().pass("Every row of " + file + " created a post");
+    }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import base.BaseTest;
+import config.ConfigManager;
+import data.PayloadGenerator;
 import models.Post;
 
 public class PutApiTests extends BaseTest {
@@ -128,4 +130,28 @@ public class PutApiTests extends BaseTest {
 
         getExtentTest().pass("PUT responded within " + RESPONSE_TIME_LIMIT_MS + "ms");
     }
+
+    @Test(description = "Verify PUT replaces a post with generated payloads")
+    public void TC_006_shouldReplacePostWithGeneratedPayloads() {
+        int count = ConfigManager.getIntOrDefault("data.count", 20);
+        getLogger().info("TC_006: PUT /posts/1 with {} generated payloads", count);
+
+        forEachRow(PayloadGenerator.fromConfig().posts(count), generated -> {
+            Post request = generated.withId(1);
+
+            Post response =
+                given()
+                    .spec(getRequestSpec())
+                    .body(request)
+                .when()
+                    .put("/posts/1")
+                .then()
+                    .statusCode(200)
+                    .extract()
+                    .as(Post.class);
+
+            Assert.assertEquals(response, request, "Generated payload was not echoed unchanged");
+        });
+        getExtentTest().pass(count + " generated payloads replaced post 1");
+    }
 }
\ No newline at end of file
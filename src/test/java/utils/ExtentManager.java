@@ -4,6 +4,8 @@ import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
+import config.ConfigManager;
+
 public class ExtentManager {
 
 	private static volatile ExtentReports extent;
@@ -23,7 +25,8 @@ public class ExtentManager {
 	}
 
 	private static ExtentReports createInstance() {
-		ExtentSparkReporter spark = new ExtentSparkReporter("reports/ExtentReport.html");
+		ExtentSparkReporter spark = new ExtentSparkReporter(
+				ConfigManager.getOrDefault("report.html.file", "reports/ExtentReport.html"));
 		spark.config().setDocumentTitle("API Test Report");
 		spark.config().setReportName("REST Assured Automation Suite");
 		spark.config().setTheme(Theme.STANDARD);
@@ -1,12 +1,25 @@
 package utils;
 
+import java.util.regex.Pattern;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.layout.PatternLayout;
 
 public class LoggerUtils {
 
 	private static final String TEST_KEY = "testName";
+	private static final String NETWORK_KEY = "netPhases";
+	// %X or %mdc without a key prints the whole context map
+	private static final Pattern WHOLE_CONTEXT = Pattern.compile("%[-.\\d]*(?:X|mdc|MDC)(?![{\\w])");
+
+	private static final Logger log = LogManager.getLogger(LoggerUtils.class);
+	private static volatile Configuration scannedConfiguration;
+	private static volatile boolean networkContextUsed;
 
 	private LoggerUtils() {
 	}
@@ -19,7 +32,47 @@ public class LoggerUtils {
 		ThreadContext.put(TEST_KEY, testName);
 	}
 
+	// Phases of the thread's last request (metrics.NetworkTimingFilter), for %X{netPhases} in a layout
+	public static void setNetworkContext(String phases) {
+		ThreadContext.put(NETWORK_KEY, phases);
+	}
+
+	/**
+	 * Whether a layout of the current Log4j configuration can print {@code %X{netPhases}}. Rechecked when the
+	 * configuration is reloaded.
+	 */
+	public static boolean isNetworkContextUsed() {
+		if (!(log instanceof org.apache.logging.log4j.core.Logger)) {
+			return true;
+		}
+		Configuration configuration = ((org.apache.logging.log4j.core.Logger) log).getContext().getConfiguration();
+		if (configuration != scannedConfiguration) {
+			networkContextUsed = usesNetworkContext(configuration);
+			scannedConfiguration = configuration;
+		}
+		return networkContextUsed;
+	}
+
+	private static boolean usesNetworkContext(Configuration configuration) {
+		for (Appender appender : configuration.getAppenders().values()) {
+			Layout<?> layout = appender.getLayout();
+			if (layout == null) {
+				// Async and routing appenders hand events to appenders listed on their own
+				continue;
+			}
+			if (!(layout instanceof PatternLayout)) {
+				return true;
+			}
+			String pattern = ((PatternLayout) layout).getConversionPattern();
+			if (pattern == null || pattern.contains(NETWORK_KEY) || WHOLE_CONTEXT.matcher(pattern).find()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static void clearContext() {
 		ThreadContext.remove(TEST_KEY);
+		ThreadContext.remove(NETWORK_KEY);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import config.ConfigManager;
+import models.PatchPostRequest;
+import models.Post;
+
+/**
+ * The one Jackson {@link ObjectMapper} the framework serializes with, so serializer and deserializer caches
+ * survive across requests. Readers and writers are cached per type and warmed up for the {@code models}
+ * classes when this class loads.
+ * <p>
+ * {@code json.mapper.module=afterburner} registers Jackson's Afterburner module, which swaps reflection for
+ * generated accessors where the JVM allows it.
+ */
+public class ObjectMappers {
+
+	private static final Logger log = LoggerUtils.getLogger(ObjectMappers.class);
+
+	private static final ObjectMapper MAPPER = create(ConfigManager.getOrDefault("json.mapper.module", "none"));
+	private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+	static {
+		warmUp(new Post(1, 1, "warm-up", "warm-up"));
+		warmUp(new PatchPostRequest("warm-up", "warm-up"));
+	}
+
+	private ObjectMappers() {
+	}
+
+	public static ObjectMapper getMapper() {
+		return MAPPER;
+	}
+
+	public static ObjectReader reader(Class<?> type) {
+		return READERS.computeIfAbsent(type, MAPPER::readerFor);
+	}
+
+	public static ObjectWriter writer(Class<?> type) {
+		return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+	}
+
+	static ObjectMapper create(String module) {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		switch (module) {
+		case "afterburner":
+			mapper.registerModule(new AfterburnerModule());
+			break;
+		case "none":
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown json.mapper.module: '" + module + "'");
+		}
+		return mapper;
+	}
+
+	// Round-trips a sample so the (de)serializers are built before the first test needs them
+	private static void warmUp(Object sample) {
+		try {
+			byte[] json = writer(sample.getClass()).writeValueAsBytes(sample);
+			reader(sample.getClass()).readValue(json);
+		} catch (Exception e) {
+			log.warn("Could not warm up Jackson for {}: {}", sample.getClass().getSimpleName(), e.toString());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package utils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import com.aventstack.extentreports.Status;
+
+/**
+ * Handle for one test in the report. Every call just enqueues an event on {@link StreamingReporter}; nothing is
+ * kept on the node itself.
+ */
+public class ReportNode {
+
+	// Discards everything; used when tests run as load scenarios
+	public static final ReportNode NOOP = new ReportNode(null, 0);
+
+	private final StreamingReporter reporter;
+	private final long id;
+
+	ReportNode(StreamingReporter reporter, long id) {
+		this.reporter = reporter;
+		this.id = id;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public ReportNode info(String message) {
+		return log(Status.INFO, message);
+	}
+
+	/**
+	 * Logs {@code label + value}, calling {@code value.toString()} only when the report is recording.
+	 */
+	public ReportNode info(String label, Object value) {
+		return reporter == null ? this : log(Status.INFO, label + value);
+	}
+
+	public ReportNode pass(String message) {
+		return log(Status.PASS, message);
+	}
+
+	public ReportNode warning(String message) {
+		return log(Status.WARNING, message);
+	}
+
+	public ReportNode fail(String message) {
+		return log(Status.FAIL, message);
+	}
+
+	public ReportNode fail(Throwable throwable) {
+		StringWriter stackTrace = new StringWriter();
+		throwable.printStackTrace(new PrintWriter(stackTrace));
+		return codeBlock(Status.FAIL, stackTrace.toString());
+	}
+
+	public ReportNode skip(String message) {
+		return log(Status.SKIP, message);
+	}
+
+	public ReportNode log(Status status, String message) {
+		if (reporter != null) {
+			reporter.log(id, status, message, false);
+		}
+		return this;
+	}
+
+	public ReportNode codeBlock(Status status, String text) {
+		if (reporter != null) {
+			reporter.log(id, status, text, true);
+		}
+		return this;
+	}
+}
\ No newline at end of file
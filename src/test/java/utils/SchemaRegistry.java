@@ -0,0 +1,131 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+/**
+ * Compiled JSON schemas from {@code src/test/resources/schemas}, loaded once and shared by all threads.
+ * A drop-in for RestAssured's {@code matchesJsonSchemaInClasspath}, which reads and compiles the schema again on
+ * every call.
+ */
+public class SchemaRegistry {
+
+	private static final Logger log = LoggerUtils.getLogger(SchemaRegistry.class);
+
+	private static final String SCHEMA_DIR = "schemas";
+	private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+	private static final Map<String, SchemaMatcher> MATCHERS = new ConcurrentHashMap<>();
+
+	static {
+		preload();
+	}
+
+	private SchemaRegistry() {
+	}
+
+	/**
+	 * Matcher for a response body against a classpath schema such as {@code schemas/getPostSchema.json}. The
+	 * matcher is stateless and the same instance is returned on every call.
+	 */
+	public static Matcher<String> matchesJsonSchemaInClasspath(String path) {
+		return MATCHERS.computeIfAbsent(path, SchemaRegistry::compile);
+	}
+
+	/**
+	 * The compiled schema itself, for validating nodes that are already parsed, such as elements of a streamed array.
+	 */
+	public static JsonSchema getSchema(String path) {
+		return MATCHERS.computeIfAbsent(path, SchemaRegistry::compile).schema;
+	}
+
+	public static int size() {
+		return MATCHERS.size();
+	}
+
+	private static SchemaMatcher compile(String path) {
+		try {
+			return new SchemaMatcher(path, FACTORY.getJsonSchema("resource:/" + path));
+		} catch (ProcessingException e) {
+			throw new IllegalArgumentException("Cannot compile JSON schema " + path + ": " + e.getMessage(), e);
+		}
+	}
+
+	// Compile everything up front when the schemas are plain files; from a jar they compile on first use instead
+	private static void preload() {
+		URL dir = SchemaRegistry.class.getClassLoader().getResource(SCHEMA_DIR);
+		if (dir == null || !"file".equals(dir.getProtocol())) {
+			return;
+		}
+		try (Stream<Path> files = Files.list(Paths.get(dir.toURI()))) {
+			files.filter(file -> file.getFileName().toString().endsWith(".json"))
+					.forEach(file -> matchesJsonSchemaInClasspath(SCHEMA_DIR + "/" + file.getFileName()));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot list " + dir, e);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException("Cannot list " + dir, e);
+		}
+		log.debug("Compiled {} JSON schemas from {}", MATCHERS.size(), dir);
+	}
+
+	private static final class SchemaMatcher extends TypeSafeMatcher<String> {
+
+		private final String path;
+		private final JsonSchema schema;
+
+		SchemaMatcher(String path, JsonSchema schema) {
+			this.path = path;
+			this.schema = schema;
+		}
+
+		@Override
+		protected boolean matchesSafely(String body) {
+			ProcessingReport report = validate(body);
+			return report != null && report.isSuccess();
+		}
+
+		@Override
+		protected void describeMismatchSafely(String body, Description mismatch) {
+			ProcessingReport report = validate(body);
+			mismatch.appendText(report == null ? "was not valid JSON" : report.toString());
+		}
+
+		@Override
+		public void describeTo(Description description) {
+			description.appendText("JSON matching schema " + path);
+		}
+
+		private ProcessingReport validate(String body) {
+			JsonNode node;
+			try {
+				node = JsonLoader.fromString(body);
+			} catch (IOException e) {
+				return null;
+			}
+			try {
+				return schema.validate(node);
+			} catch (ProcessingException e) {
+				throw new IllegalStateException("Schema " + path + " failed to validate: " + e.getMessage(), e);
+			}
+		}
+	}
+}
\ No newline at end of file
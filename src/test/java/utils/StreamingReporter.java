@@ -0,0 +1,307 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+
+import config.ConfigManager;
+
+/**
+ * Report pipeline that keeps test events off the heap. Test threads enqueue events, and one background thread
+ * appends them as JSON lines to numbered segment files under {@code reports/events}. At the end of the suite the
+ * segments are replayed into {@link ExtentManager}'s HTML report.
+ * <p>
+ * The queue is lock-free; a counter caps it at {@code report.queue.capacity} events, and when the writer falls
+ * that far behind, test threads park until it catches up rather than growing the heap.
+ * <p>
+ * Segments are flushed after every drained batch, so after a crash the report can still be rebuilt with
+ * {@code java utils.StreamingReporter [eventsDir]}. With {@code report.events.discard=true} the writer drops
+ * events instead, so benchmarks measure the test threads' cost without the disk behind it.
+ */
+public class StreamingReporter {
+
+	private static final Logger log = LoggerUtils.getLogger(StreamingReporter.class);
+
+	private static final String DEFAULT_EVENTS_DIR = "reports/events";
+	private static final String SEGMENT_GLOB = "segment-*.jsonl";
+
+	private static volatile StreamingReporter instance;
+
+	// Pauses of a test thread waiting for room, and of the writer waiting for events
+	private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+	private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+	private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+	// Events enqueued or reserved and not yet taken by the writer; ConcurrentLinkedQueue.size() walks the queue
+	private final AtomicInteger size = new AtomicInteger();
+	private final int capacity;
+	private final AtomicLong nextTestId = new AtomicLong();
+	private final LongAdder dropped = new LongAdder();
+	private final Path eventsDir;
+	private final int eventsPerSegment;
+	private final boolean discardEvents;
+	private final Thread writer;
+	private volatile boolean running = true;
+	private volatile boolean writerParked;
+
+	private StreamingReporter(Path eventsDir, int eventsPerSegment, int queueCapacity, boolean discardEvents) {
+		this.capacity = queueCapacity;
+		this.eventsDir = eventsDir;
+		this.eventsPerSegment = eventsPerSegment;
+		this.discardEvents = discardEvents;
+		deleteSegments(eventsDir);
+		writer = new Thread(this::drainLoop, "report-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	public static StreamingReporter getInstance() {
+		if (instance == null) {
+			synchronized (StreamingReporter.class) {
+				if (instance == null) {
+					instance = new StreamingReporter(
+							Paths.get(ConfigManager.getOrDefault("report.events.dir", DEFAULT_EVENTS_DIR)),
+							ConfigManager.getIntOrDefault("report.segment.events", 10_000),
+							ConfigManager.getIntOrDefault("report.queue.capacity", 65_536),
+							Boolean.parseBoolean(ConfigManager.getOrDefault("report.events.discard", "false")));
+				}
+			}
+		}
+		return instance;
+	}
+
+	public ReportNode startTest(String name) {
+		long id = nextTestId.incrementAndGet();
+		enqueue(event(id, "start", null, name, false));
+		return new ReportNode(this, id);
+	}
+
+	public void endTest(ReportNode node) {
+		enqueue(event(node.getId(), "end", null, null, false));
+	}
+
+	void log(long testId, Status status, String message, boolean code) {
+		enqueue(event(testId, "log", status, message, code));
+	}
+
+	private void enqueue(String event) {
+		// Reserve a slot first, so the queue never holds more than capacity events
+		while (size.incrementAndGet() > capacity) {
+			size.decrementAndGet();
+			if (!writer.isAlive() || Thread.currentThread().isInterrupted()) {
+				// The writer failed and logged why, or the test is being stopped; waiting would hang it
+				dropped.increment();
+				return;
+			}
+			LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+		}
+		queue.offer(event);
+		if (writerParked) {
+			LockSupport.unpark(writer);
+		}
+	}
+
+	/**
+	 * Stops the writer once the queue is drained, then renders every segment into the Extent HTML report.
+	 */
+	public void close() {
+		synchronized (StreamingReporter.class) {
+			running = false;
+			try {
+				while (!joinWriter()) {
+					log.warn("Report writer still has {} events to write; waiting for it before rendering",
+							size.get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				log.error("Interrupted while the report writer had {} events left; the report will miss them",
+						size.get());
+			}
+			if (dropped.sum() > 0) {
+				log.error("{} report events were dropped after the report writer failed or a test was interrupted",
+						dropped.sum());
+			}
+			render(eventsDir, ExtentManager.getInstance());
+			instance = null;
+		}
+	}
+
+	private boolean joinWriter() throws InterruptedException {
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+		return !writer.isAlive();
+	}
+
+	public static void render(Path eventsDir, ExtentReports extent) {
+		Map<Long, ExtentTest> openTests = new HashMap<>();
+		JSONParser parser = new JSONParser();
+		for (Path segment : listSegments(eventsDir)) {
+			try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					apply((JSONObject) parser.parse(line), openTests, extent);
+				}
+			} catch (IOException | ParseException e) {
+				// A crash can leave a truncated last line; keep whatever was written before it
+				log.warn("Stopped reading report segment {}: {}", segment, e.getMessage());
+			}
+		}
+		extent.flush();
+	}
+
+	public static void main(String[] args) {
+		render(Paths.get(args.length > 0 ? args[0] : DEFAULT_EVENTS_DIR), ExtentManager.getInstance());
+	}
+
+	private static void apply(JSONObject event, Map<Long, ExtentTest> openTests, ExtentReports extent) {
+		long testId = ((Number) event.get("test")).longValue();
+		Date timestamp = new Date(((Number) event.get("ts")).longValue());
+		String message = (String) event.get("msg");
+
+		switch ((String) event.get("type")) {
+		case "start":
+			ExtentTest test = extent.createTest(message);
+			test.getModel().setStartTime(timestamp);
+			openTests.put(testId, test);
+			break;
+		case "log":
+			ExtentTest target = openTests.get(testId);
+			if (target != null) {
+				Status status = Status.valueOf((String) event.get("status"));
+				if (Boolean.TRUE.equals(event.get("code"))) {
+					target.log(status, MarkupHelper.createCodeBlock(message));
+				} else {
+					target.log(status, message);
+				}
+			}
+			break;
+		case "end":
+			ExtentTest finished = openTests.remove(testId);
+			if (finished != null) {
+				finished.getModel().setEndTime(timestamp);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private static String event(long testId, String type, Status status, String message, boolean code) {
+		StringBuilder sb = new StringBuilder(64 + (message == null ? 0 : message.length()));
+		sb.append("{\"test\":").append(testId);
+		sb.append(",\"type\":\"").append(type).append('"');
+		sb.append(",\"ts\":").append(System.currentTimeMillis());
+		if (status != null) {
+			sb.append(",\"status\":\"").append(status.name()).append('"');
+		}
+		if (message != null) {
+			sb.append(",\"msg\":\"").append(JSONValue.escape(message)).append('"');
+		}
+		if (code) {
+			sb.append(",\"code\":true");
+		}
+		return sb.append('}').toString();
+	}
+
+	private void drainLoop() {
+		int segmentIndex = 0;
+		int eventsInSegment = 0;
+		BufferedWriter out = null;
+		try {
+			Files.createDirectories(eventsDir);
+			while (running || size.get() > 0) {
+				String event = queue.poll();
+				if (event == null) {
+					// Empty, or a test thread has reserved a slot and not offered its event yet
+					if (out != null) {
+						out.flush();
+					}
+					writerParked = true;
+					// Checked again after raising the flag, so an event offered in between is not left waiting
+					if (queue.isEmpty()) {
+						LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+					}
+					writerParked = false;
+					continue;
+				}
+				size.decrementAndGet();
+				if (discardEvents) {
+					continue;
+				}
+				if (out == null || eventsInSegment >= eventsPerSegment) {
+					if (out != null) {
+						out.close();
+					}
+					out = Files.newBufferedWriter(eventsDir.resolve(String.format("segment-%05d.jsonl", ++segmentIndex)),
+							StandardCharsets.UTF_8);
+					eventsInSegment = 0;
+				}
+				out.write(event);
+				out.newLine();
+				eventsInSegment++;
+			}
+		} catch (IOException e) {
+			log.error("Report writer failed, events after this point are lost", e);
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					log.warn("Failed to close report segment: {}", e.getMessage());
+				}
+			}
+		}
+	}
+
+	private static List<Path> listSegments(Path eventsDir) {
+		List<Path> segments = new ArrayList<>();
+		if (!Files.isDirectory(eventsDir)) {
+			return segments;
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(eventsDir, SEGMENT_GLOB)) {
+			stream.forEach(segments::add);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to list report segments in " + eventsDir, e);
+		}
+		segments.sort(null);
+		return segments;
+	}
+
+	private static void deleteSegments(Path eventsDir) {
+		for (Path segment : listSegments(eventsDir)) {
+			try {
+				Files.delete(segment);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to delete old report segment " + segment, e);
+			}
+		}
+	}
+}
\ No newline at end of file
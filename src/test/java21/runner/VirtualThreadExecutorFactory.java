@@ -0,0 +1,76 @@
+package runner;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * Runs every TestNG test method on its own virtual thread. The suite's thread-count still caps how many run at
+ * once, so it can be raised into the thousands without creating that many OS threads.
+ * <p>
+ * BaseTest keeps per-test state in ThreadLocals; each method's before/test/after calls share one task, and so
+ * one virtual thread, so that state stays isolated exactly as it is on platform threads.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+	@Override
+	public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+			BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+		return new BoundedVirtualThreadExecutor(Math.max(1, maximumPoolSize));
+	}
+
+	private static class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+		private final ExecutorService delegate = Executors
+				.newThreadPerTaskExecutor(Thread.ofVirtual().name("testng-vt-", 0).factory());
+		private final Semaphore permits;
+
+		BoundedVirtualThreadExecutor(int maxConcurrency) {
+			this.permits = new Semaphore(maxConcurrency);
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			delegate.execute(() -> {
+				permits.acquireUninterruptibly();
+				try {
+					command.run();
+				} finally {
+					permits.release();
+				}
+			});
+		}
+
+		@Override
+		public void shutdown() {
+			delegate.shutdown();
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			return delegate.shutdownNow();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return delegate.isShutdown();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return delegate.isTerminated();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+			return delegate.awaitTermination(timeout, unit);
+		}
+	}
+}
\ No newline at end of file
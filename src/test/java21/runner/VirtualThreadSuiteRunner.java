@@ -0,0 +1,28 @@
+package runner;
+
+import java.util.List;
+
+import org.testng.TestNG;
+
+import config.ConfigManager;
+
+/**
+ * Runs a TestNG suite with {@link VirtualThreadExecutorFactory}. Surefire cannot pass a thread pool factory to
+ * TestNG, so the virtual-threads profile starts the suite through this class instead.
+ * <p>
+ * {@code mvn -Pvirtual-threads test-compile exec:java [-Dvt.thread.count=2000] [-Dvt.suite=testng.xml]}
+ */
+public class VirtualThreadSuiteRunner {
+
+	private VirtualThreadSuiteRunner() {
+	}
+
+	public static void main(String[] args) {
+		TestNG testng = new TestNG();
+		testng.setExecutorServiceFactory(new VirtualThreadExecutorFactory());
+		testng.setTestSuites(List.of(ConfigManager.getOrDefault("vt.suite", "testng.xml")));
+		testng.setThreadCount(ConfigManager.getIntOrDefault("vt.thread.count", 1000));
+		testng.run();
+		System.exit(testng.getStatus());
+	}
+}
\ No newline at end of file